@@ -12,6 +12,6 @@ public class AndroidLauncher extends AndroidApplication {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
 		config.numSamples = 2;
-		initialize(new SwipGame(), config);
+		initialize(new SwipGame(BuildConfig.DEBUG), config);
 	}
 }
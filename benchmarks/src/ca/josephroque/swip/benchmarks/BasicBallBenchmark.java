@@ -0,0 +1,61 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.BasicBall;
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.manager.TextureManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a ball takes to scale over a tick. The ball is grown and shrunk over and over, so operations are
+ * spent both partway through scaling and on the tick which completes it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BasicBallBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "BasicBallBenchmark";
+
+    /** Ball which is scaled, through the tick every kind of ball shares. */
+    private BasicBall mBall;
+
+    /**
+     * Creates the ball and starts it growing.
+     */
+    @Setup
+    public void setup() {
+        BasicBall.initialize(BenchmarkEnvironment.SCREEN_WIDTH, BenchmarkEnvironment.SCREEN_HEIGHT);
+        mBall = new GameBall(TextureManager.GAME_COLORS[0],
+                1,
+                BenchmarkEnvironment.SCREEN_WIDTH / 2,
+                BenchmarkEnvironment.SCREEN_HEIGHT / 2);
+        mBall.grow();
+    }
+
+    /**
+     * Scales the ball by a tick, and turns it around once it has finished growing or shrinking.
+     *
+     * @return the radius of the ball, so the scaling is not optimized away
+     */
+    @Benchmark
+    public float scale() {
+        if (!mBall.isScaling()) {
+            if (mBall.getRadius() > 0)
+                mBall.shrink();
+            else
+                mBall.grow();
+        }
+        mBall.tick(BenchmarkEnvironment.TICK_LENGTH);
+        return mBall.getRadius();
+    }
+}
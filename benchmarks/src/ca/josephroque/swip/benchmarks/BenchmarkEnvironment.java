@@ -0,0 +1,118 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.manager.TextureManager;
+import ca.josephroque.swip.screen.GameScreen;
+import ca.josephroque.swip.tools.AssetFiles;
+import ca.josephroque.swip.tools.RecordingGL20;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.io.File;
+
+/**
+ * Sets up the parts of the game which the benchmarks need, once for each forked JVM. The headless backend provides
+ * files, audio and input, a {@code RecordingGL20} stands in for the GPU, and a {@code GameScreen} is shown until it
+ * has loaded its assets, which initializes the fonts, music and screen size exactly as the game does. Assets are
+ * read from the directory named by the {@code swip.assets} system property, or the working directory if it is not
+ * set, and the texture cache is written to the working directory.
+ */
+public final class BenchmarkEnvironment {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "BenchmarkEnvironment";
+
+    /** Width of the screen the game is set up for. */
+    public static final int SCREEN_WIDTH = 1080;
+    /** Height of the screen the game is set up for. */
+    public static final int SCREEN_HEIGHT = 1920;
+    /** Number of seconds the game logic advances by in a single tick, the same as {@code GameScreen}. */
+    public static final float TICK_LENGTH = 1 / 120f;
+
+    /** System property which names the directory of the game's assets. */
+    private static final String ASSETS_PROPERTY = "swip.assets";
+    /** Number of seconds between the frames drawn while the screen loads its assets. */
+    private static final float FRAME_LENGTH = 1 / 60f;
+
+    /** Screen which was shown to set up the game, kept so the resources it initialized are never disposed. */
+    private static GameScreen sScreen;
+    /** Handles loading and unloading textures, with every group loaded. */
+    private static TextureManager sTextureManager;
+
+    /**
+     * Sets up the game, if it has not been set up already.
+     */
+    public static synchronized void initialize() {
+        if (sScreen != null)
+            return;
+
+        // A negative render interval sets up the backend without running its loop, so nothing else draws
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = -1;
+        new HeadlessApplication(new ApplicationAdapter() { }, config);
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+        final String assetsDirectory = System.getProperty(ASSETS_PROPERTY);
+        if (assetsDirectory != null)
+            Gdx.files = new AssetFiles(new File(assetsDirectory));
+
+        final GL20 context = new RecordingGL20("OpenGL ES 2.0", "").getContext();
+        Gdx.gl = context;
+        Gdx.gl20 = context;
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public int getWidth() {
+                return SCREEN_WIDTH;
+            }
+
+            @Override
+            public int getHeight() {
+                return SCREEN_HEIGHT;
+            }
+
+            @Override
+            public GL20 getGL20() {
+                return context;
+            }
+        };
+
+        sScreen = new GameScreen(false);
+        sScreen.show();
+        while (sScreen.getGameState() == null)
+            sScreen.render(FRAME_LENGTH);
+
+        // The screen only keeps the groups its state needs loaded, so the benchmarks load all of them themselves
+        AssetManager assetManager = new AssetManager();
+        final TextureManager.Variant variant = TextureManager.Variant.select(SCREEN_WIDTH, SCREEN_HEIGHT);
+        int groups = 0;
+        for (TextureManager.TextureGroup group : TextureManager.TextureGroup.values())
+            groups |= group.getMask();
+        TextureManager.queueAssets(assetManager, variant, TextureManager.TextureFormat.Png, groups);
+        assetManager.finishLoading();
+        sTextureManager = new TextureManager(assetManager, variant);
+    }
+
+    /**
+     * Gets a texture manager with every group of textures loaded.
+     *
+     * @return the texture manager
+     * @throws IllegalStateException if the environment has not been initialized
+     */
+    public static TextureManager getTextureManager() {
+        if (sTextureManager == null)
+            throw new IllegalStateException("must call initialize() first");
+        return sTextureManager;
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private BenchmarkEnvironment() {
+        // does nothing
+    }
+}
@@ -0,0 +1,114 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.BasicBall;
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.TextureManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a ball takes to check its movement over a tick against the walls. Each operation sweeps the
+ * ball along one of {@code TRAJECTORIES} segments, generated from a fixed seed so every run checks the same ones.
+ * The segments start anywhere on the screen and move up to {@code MAXIMUM_DISTANCE} in any direction, so they
+ * include balls which stay clear of the walls, pass halfway or fully through a passable wall, and touch a solid one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameBallBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameBallBenchmark";
+
+    /** Number of segments the ball is swept along. */
+    private static final int TRAJECTORIES = 1024;
+    /** Furthest the ball moves along a segment, relative to the smaller dimension of the screen. */
+    private static final float MAXIMUM_DISTANCE = 0.5f;
+    /** Seed of the segments, so every run checks the same ones. */
+    private static final long SEED = 0x5717L;
+    /** Number of seconds a ball is ticked for to finish growing, which is longer than it takes. */
+    private static final float GROWING_TIME = 10f;
+
+    /** Walls on the screen. */
+    private Wall[] mWalls;
+    /** A fully grown ball for each combination of passable walls, indexed by the bitmask of the walls. */
+    private GameBall[] mBalls;
+    /** Ball swept along each segment, indexed by segment. */
+    private GameBall[] mTrajectoryBalls;
+    /** Start and end of each segment, as x and y of the start followed by x and y of the end. */
+    private float[] mTrajectories;
+    /** Index of the segment the next operation sweeps the ball along. */
+    private int mNextTrajectory;
+
+    /**
+     * Creates the walls, the balls and the segments they are swept along.
+     */
+    @Setup
+    public void setup() {
+        final int width = BenchmarkEnvironment.SCREEN_WIDTH;
+        final int height = BenchmarkEnvironment.SCREEN_HEIGHT;
+        BasicBall.initialize(width, height);
+        Wall.initialize(width, height);
+
+        mWalls = new Wall[Wall.NUMBER_OF_WALLS];
+        for (int i = 0; i < mWalls.length; i++)
+            mWalls[i] = new Wall(i, TextureManager.GAME_COLORS[i], width, height);
+
+        // Every ball a turn can create has at least one passable wall
+        mBalls = new GameBall[1 << Wall.NUMBER_OF_WALLS];
+        for (int passableWalls = 1; passableWalls < mBalls.length; passableWalls++) {
+            mBalls[passableWalls] = new GameBall(TextureManager.GAME_COLORS[0], passableWalls, width / 2, height / 2);
+            mBalls[passableWalls].grow();
+            mBalls[passableWalls].tick(GROWING_TIME, mWalls);
+        }
+
+        Random random = new Random(SEED);
+        final float maximumDistance = Math.min(width, height) * MAXIMUM_DISTANCE;
+        mTrajectoryBalls = new GameBall[TRAJECTORIES];
+        mTrajectories = new float[TRAJECTORIES * 4];
+        for (int i = 0; i < TRAJECTORIES; i++) {
+            mTrajectoryBalls[i] = mBalls[1 + random.nextInt(mBalls.length - 1)];
+            final float startX = random.nextFloat() * width;
+            final float startY = random.nextFloat() * height;
+            final double angle = random.nextDouble() * Math.PI * 2;
+            final float distance = random.nextFloat() * maximumDistance;
+            mTrajectories[i * 4] = startX;
+            mTrajectories[i * 4 + 1] = startY;
+            mTrajectories[i * 4 + 2] = startX + (float) Math.cos(angle) * distance;
+            mTrajectories[i * 4 + 3] = startY + (float) Math.sin(angle) * distance;
+        }
+    }
+
+    /**
+     * Sweeps a ball along the next segment and checks it against every wall.
+     *
+     * @param blackhole consumes the results of the check
+     */
+    @Benchmark
+    public void checkWalls(Blackhole blackhole) {
+        final int trajectory = mNextTrajectory;
+        mNextTrajectory = (mNextTrajectory + 1) % TRAJECTORIES;
+
+        final GameBall ball = mTrajectoryBalls[trajectory];
+        ball.getBounds().setPosition(mTrajectories[trajectory * 4], mTrajectories[trajectory * 4 + 1]);
+        ball.storePreviousPosition();
+        ball.getBounds().setPosition(mTrajectories[trajectory * 4 + 2], mTrajectories[trajectory * 4 + 3]);
+
+        // A ball which is not moving on its own is only swept from where it was to where it was placed
+        ball.tick(0, mWalls);
+        blackhole.consume(ball.hasPassedThroughWall());
+        blackhole.consume(ball.hasHitInvalidWall());
+        blackhole.consume(ball.getImpactTime());
+    }
+}
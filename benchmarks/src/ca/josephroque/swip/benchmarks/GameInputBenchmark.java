@@ -0,0 +1,107 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.input.GameInputProcessor;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long fitting the velocity of the finger through its history takes, which is done each time a ball
+ * is released and each time the finger's position is predicted. The finger's history is filled by a single frame of
+ * drags, captured at the rate of a device which batches its touch samples into each frame and replayed one tick at a
+ * time, as {@code GameScreen} replays them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameInputBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameInputBenchmark";
+
+    /** Number of times the finger is dragged, which fills its history. */
+    private static final int DRAGS = 8;
+    /** Number of pixels the finger moves with each drag. */
+    private static final int DRAG_STEP = 24;
+    /** Number of nanoseconds between the capture of each drag, which is the interval of a 240 Hz touch screen. */
+    private static final long DRAG_INTERVAL = 4166667L;
+    /** Number of nanoseconds the game logic advances by in a single tick. */
+    private static final long TICK_INTERVAL = (long) (BenchmarkEnvironment.TICK_LENGTH * 1000000000L);
+
+    /** Handles the finger's input. */
+    private GameInputProcessor mGameInput;
+
+    /**
+     * Drags a finger across the screen until its history is full, replaying the drags one tick at a time.
+     */
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        mGameInput = new GameInputProcessor();
+
+        // Every event of the frame is dispatched at once, after they have all been captured
+        final ScriptedInput input = new ScriptedInput();
+        Gdx.input = input;
+        final long startTime = TimeUtils.nanoTime() - DRAGS * DRAG_INTERVAL;
+        final int x = BenchmarkEnvironment.SCREEN_WIDTH / 2;
+        final int y = BenchmarkEnvironment.SCREEN_HEIGHT / 2;
+        input.setCurrentEventTime(startTime);
+        mGameInput.touchDown(x, y, 0, 0);
+        for (int i = 1; i <= DRAGS; i++) {
+            input.setCurrentEventTime(startTime + i * DRAG_INTERVAL);
+            mGameInput.touchDragged(x + i * DRAG_STEP, y - i * DRAG_STEP / 2, 0);
+        }
+
+        for (long tickTime = startTime; tickTime <= startTime + DRAGS * DRAG_INTERVAL; tickTime += TICK_INTERVAL) {
+            mGameInput.processEvents(tickTime);
+            mGameInput.tick();
+        }
+        mGameInput.processEvents(Long.MAX_VALUE);
+    }
+
+    /**
+     * Fits the velocity of the finger.
+     *
+     * @return the velocity of the finger
+     */
+    @Benchmark
+    public Vector2 calculateFingerDragVelocity() {
+        return mGameInput.calculateFingerDragVelocity();
+    }
+
+    /**
+     * Input which reports a scripted time for the event being handled, as a device's backend reports the time each
+     * event was captured.
+     */
+    private static final class ScriptedInput
+            extends MockInput {
+
+        /** Time in nanoseconds reported for the event being handled. */
+        private long mCurrentEventTime;
+
+        /**
+         * Sets the time reported for the events handled next.
+         *
+         * @param time time in nanoseconds the events were captured
+         */
+        void setCurrentEventTime(long time) {
+            mCurrentEventTime = time;
+        }
+
+        @Override
+        public long getCurrentEventTime() {
+            return mCurrentEventTime;
+        }
+    }
+}
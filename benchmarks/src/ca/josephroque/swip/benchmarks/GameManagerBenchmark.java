@@ -0,0 +1,109 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.manager.GameManager;
+import ca.josephroque.swip.screen.GameScreen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the game logic takes to play a whole turn. Each operation starts a game and ticks it until the
+ * turn runs out, while a finger holds the ball and drags it in a circle around the center of the screen, so the ball
+ * follows the finger and is checked against the walls on every tick without ever reaching one. The turn always lasts
+ * the same number of ticks, so operations can be compared between runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GameManagerBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameManagerBenchmark";
+
+    /** Radius of the circle the ball is dragged in, relative to the smaller dimension of the screen. */
+    private static final float DRAG_RADIUS = 0.1f;
+    /** Number of radians the finger moves around the circle each tick. */
+    private static final float DRAG_ANGLE_PER_TICK = 0.05f;
+
+    /** Handles the game logic. */
+    private GameManager mGameManager;
+    /** Handles the finger's input. */
+    private GameInputProcessor mGameInput;
+    /** Indicates if the turn has ended. */
+    private boolean mTurnEnded;
+
+    /** Callback interface for game events, which notes when the turn has ended. */
+    private GameManager.GameCallback mGameCallback = new GameManager.GameCallback() {
+        @Override
+        public void startGame() {
+            // does nothing - the game is started by the benchmark
+        }
+
+        @Override
+        public void pauseGame() {
+            throw new IllegalStateException("the game should not be paused");
+        }
+
+        @Override
+        public void endGame(int finalScore) {
+            mTurnEnded = true;
+        }
+    };
+
+    /**
+     * Sets up the game.
+     */
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        mGameManager = new GameManager(mGameCallback, BenchmarkEnvironment.getTextureManager());
+        mGameInput = new GameInputProcessor();
+
+        // Ticks run back to back rather than in real time, so the finger would be predicted to be moving far faster
+        // than it is
+        mGameInput.setDragPredictionEnabled(false);
+    }
+
+    /**
+     * Starts a game and plays its first turn until it runs out.
+     *
+     * @return the number of ticks the turn lasted
+     */
+    @Benchmark
+    public int playTurn() {
+        mGameManager.prepareNewGame();
+        mGameManager.startGame();
+        mTurnEnded = false;
+
+        final int centerX = GameScreen.getScreenWidth() / 2;
+        final int centerY = GameScreen.getScreenHeight() / 2;
+        final float radius = Math.min(GameScreen.getScreenWidth(), GameScreen.getScreenHeight()) * DRAG_RADIUS;
+        mGameInput.touchDown(centerX, centerY, 0, 0);
+
+        int ticks = 0;
+        while (!mTurnEnded) {
+            // The circle passes through the center, so the finger starts on the ball as it grows
+            final float angle = ticks * DRAG_ANGLE_PER_TICK;
+            mGameInput.touchDragged(centerX + (int) ((1 - Math.cos(angle)) * radius),
+                    centerY + (int) (Math.sin(angle) * radius),
+                    0);
+            mGameInput.processEvents(Long.MAX_VALUE);
+            mGameManager.tick(GameScreen.GameState.GamePlaying, mGameInput, BenchmarkEnvironment.TICK_LENGTH);
+            mGameInput.tick();
+            ticks++;
+        }
+
+        mGameInput.touchUp(centerX, centerY, 0, 0);
+        mGameInput.processEvents(Long.MAX_VALUE);
+        mGameInput.tick();
+        return ticks;
+    }
+}
@@ -0,0 +1,74 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.GameManager;
+import ca.josephroque.swip.manager.TextureManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long looking up the regions and colors which a frame of the game draws takes. Each operation looks up
+ * what a frame with incoming walls, a ball and the countdown would: the texture and both edges of every wall twice,
+ * the color of every wall and the ball, the ball and its overlay, and the pause icon and countdown.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TextureManagerBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "TextureManagerBenchmark";
+
+    /** Every side of a wall, cached so that looking them up does not allocate. */
+    private static final Wall.Side[] SIDES = Wall.Side.values();
+
+    /** Texture manager with every group of textures loaded. */
+    private TextureManager mTextureManager;
+    /** Color of each wall, and of the ball after them. */
+    private TextureManager.GameColor[] mColors;
+
+    /**
+     * Loads the textures.
+     */
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.initialize();
+        mTextureManager = BenchmarkEnvironment.getTextureManager();
+        mColors = new TextureManager.GameColor[Wall.NUMBER_OF_WALLS + 1];
+        for (int i = 0; i < mColors.length; i++)
+            mColors[i] = TextureManager.GAME_COLORS[i];
+    }
+
+    /**
+     * Looks up the regions and colors of a frame.
+     *
+     * @param blackhole consumes the regions and colors
+     */
+    @Benchmark
+    public void lookupFrame(Blackhole blackhole) {
+        // Outgoing and incoming walls
+        for (int i = 0; i < 2; i++) {
+            for (Wall.Side side : SIDES) {
+                blackhole.consume(mTextureManager.getWallTexture(side));
+                blackhole.consume(mTextureManager.getWallEdge(side, true));
+                blackhole.consume(mTextureManager.getWallEdge(side, false));
+            }
+        }
+        for (TextureManager.GameColor color : mColors)
+            blackhole.consume(mTextureManager.getGameColor(color));
+
+        blackhole.consume(mTextureManager.getBallTexture());
+        blackhole.consume(mTextureManager.getBallOverlayTexture());
+        blackhole.consume(mTextureManager.getSystemIconTexture(TextureManager.SystemIcon.Pause));
+        blackhole.consume(mTextureManager.getCountdownTexture(GameManager.GameCountdown.Three));
+    }
+}
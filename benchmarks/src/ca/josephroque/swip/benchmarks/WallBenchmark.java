@@ -0,0 +1,70 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.TextureManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long choosing the colors of the walls for a turn takes, with the fewest and the most colors active.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class WallBenchmark {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "WallBenchmark";
+
+    /** Seed of the colors chosen, so every run chooses the same ones. */
+    private static final long SEED = 0x5717L;
+
+    /** Number of colors which the walls are chosen from, which grows as a game goes on. */
+    @Param({"4", "10"})
+    public int mActiveColors;
+    /** Indicates if two walls may be the same color, as they can be later in a game. */
+    @Param({"false", "true"})
+    public boolean mAllowSame;
+
+    /** Generates the random numbers the colors are chosen with. */
+    private Random mRandom;
+    /** Colors chosen for each wall. */
+    private TextureManager.GameColor[] mWallColors;
+
+    /**
+     * Activates the colors which the walls are chosen from.
+     */
+    @Setup
+    public void setup() {
+        Wall.initialize(BenchmarkEnvironment.SCREEN_WIDTH, BenchmarkEnvironment.SCREEN_HEIGHT);
+        for (int i = Wall.NUMBER_OF_WALLS; i < mActiveColors; i++)
+            Wall.addWallColorToActive();
+
+        mRandom = new Random(SEED);
+        mWallColors = new TextureManager.GameColor[Wall.NUMBER_OF_WALLS];
+    }
+
+    /**
+     * Chooses the colors of the walls for a turn.
+     *
+     * @param blackhole consumes the colors chosen
+     * @return the first of the pair of walls with the same color, or -1
+     */
+    @Benchmark
+    public int getRandomWallColors(Blackhole blackhole) {
+        final int firstOfPair = Wall.getRandomWallColors(mRandom, mWallColors, mAllowSame);
+        blackhole.consume(mWallColors);
+        return firstOfPair;
+    }
+}
@@ -16,11 +16,24 @@ public class SwipGame
     @SuppressWarnings("unused")
     private static final String TAG = "SwipGame";
 
+    /** Indicates if the cost of each frame is counted and drawn over the game. */
+    private final boolean mProfileFrames;
+
+    /**
+     * Creates the game.
+     *
+     * @param profileFrames {@code true} to count what each frame asks of the GPU and draw the counts over the game.
+     * Should only be enabled in debug builds
+     */
+    public SwipGame(boolean profileFrames) {
+        mProfileFrames = profileFrames;
+    }
+
     @Override
     public void create() {
         Gdx.app.setLogLevel(Application.LOG_DEBUG);
 
         // Opens the main menu when the application begins
-        setScreen(new GameScreen());
+        setScreen(new GameScreen(mProfileFrames));
     }
 }
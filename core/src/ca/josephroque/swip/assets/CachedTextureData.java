@@ -0,0 +1,283 @@
+package ca.josephroque.swip.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Texture data backed by a local cache of the decoded RGBA8888 pixels of an image. The first time an image is
+ * prepared, it is decoded and written to the cache. Later preparations, including when the texture is reloaded after
+ * the GL context is lost, memory-map the cache and upload it directly, without inflating the image again. Cache files
+ * are named by a checksum of the image, so a changed image is decoded again rather than using stale pixels.
+ */
+public class CachedTextureData
+        implements TextureData {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "CachedTextureData";
+
+    /** Local directory the cache files are stored in. */
+    private static final String CACHE_DIRECTORY = "texture_cache";
+    /** Extension of cache files. */
+    private static final String CACHE_EXTENSION = ".rgba";
+    /** First four bytes of every cache file. */
+    private static final int CACHE_MAGIC = 0x53574950;
+    /** Number of bytes before the pixels in a cache file: the magic number, width and height. */
+    private static final int CACHE_HEADER_SIZE = 12;
+    /** Number of bytes per pixel in a cache file. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** Image the texture is created from. */
+    private final FileHandle mSourceFile;
+    /** Indicates if mip maps should be generated when the texture is uploaded. */
+    private final boolean mUseMipMaps;
+
+    /** Cache file which has been checked against {@code mSourceFile}, or {@code null} if none has been yet. */
+    private FileHandle mValidCacheFile;
+    /** Pixels mapped from the cache file, ready to upload. */
+    private ByteBuffer mMappedPixels;
+    /** Pixels decoded from the image when the cache could not be used, ready to upload. */
+    private Pixmap mDecodedPixmap;
+    /** Width of the image, in pixels. */
+    private int mWidth;
+    /** Height of the image, in pixels. */
+    private int mHeight;
+    /** Indicates if the pixels are ready to upload. */
+    private boolean mPrepared;
+
+    /**
+     * Creates texture data for an image. Nothing is read until {@code prepare()} is called.
+     *
+     * @param sourceFile image the texture is created from
+     * @param useMipMaps {@code true} to generate mip maps when the texture is uploaded
+     */
+    public CachedTextureData(FileHandle sourceFile, boolean useMipMaps) {
+        mSourceFile = sourceFile;
+        mUseMipMaps = useMipMaps;
+    }
+
+    @Override
+    public TextureDataType getType() {
+        return TextureDataType.Custom;
+    }
+
+    @Override
+    public boolean isPrepared() {
+        return mPrepared;
+    }
+
+    /**
+     * Reads the pixels of the image, from the cache when possible. Safe to call off the rendering thread.
+     */
+    @Override
+    public void prepare() {
+        if (mPrepared)
+            throw new GdxRuntimeException("Already prepared");
+
+        if (mValidCacheFile == null && Gdx.files.isLocalStorageAvailable())
+            mValidCacheFile = findOrWriteCache();
+
+        if (mValidCacheFile != null) {
+            try {
+                mapCache(mValidCacheFile);
+                mPrepared = true;
+                return;
+            } catch (IOException | GdxRuntimeException ex) {
+                Gdx.app.error(TAG, "Could not read " + mValidCacheFile.path(), ex);
+                mValidCacheFile = null;
+            }
+        }
+
+        mDecodedPixmap = decodeSource();
+        mWidth = mDecodedPixmap.getWidth();
+        mHeight = mDecodedPixmap.getHeight();
+        mPrepared = true;
+    }
+
+    /**
+     * Finds the cache file for the current contents of the image, decoding the image and writing the cache file if
+     * it does not exist. Cache files for previous contents of the image are deleted.
+     *
+     * @return the cache file, or {@code null} if it could not be written
+     */
+    private FileHandle findOrWriteCache() {
+        final byte[] source = mSourceFile.readBytes();
+        final CRC32 checksum = new CRC32();
+        checksum.update(source);
+        final String prefix = mSourceFile.nameWithoutExtension() + "-";
+        final String name = prefix + Long.toHexString(checksum.getValue()) + "-" + source.length + CACHE_EXTENSION;
+
+        final FileHandle directory = Gdx.files.local(CACHE_DIRECTORY);
+        final FileHandle cacheFile = directory.child(name);
+        if (cacheFile.exists())
+            return cacheFile;
+
+        for (FileHandle staleFile : directory.list(CACHE_EXTENSION)) {
+            if (staleFile.name().startsWith(prefix))
+                staleFile.delete();
+        }
+
+        Pixmap pixmap = toRgba8888(new Pixmap(source, 0, source.length));
+        try {
+            writeCache(pixmap, directory.child(name + ".tmp"), cacheFile);
+            return cacheFile;
+        } catch (IOException | GdxRuntimeException ex) {
+            Gdx.app.error(TAG, "Could not cache " + mSourceFile.path(), ex);
+            return null;
+        } finally {
+            pixmap.dispose();
+        }
+    }
+
+    /**
+     * Writes the pixels of {@code pixmap} to a temporary file, then moves it to {@code cacheFile} so a partially
+     * written cache is never read.
+     *
+     * @param pixmap RGBA8888 pixels to write
+     * @param tempFile file to write to before moving
+     * @param cacheFile final location of the cache
+     * @throws IOException if the cache cannot be written
+     */
+    private static void writeCache(Pixmap pixmap, FileHandle tempFile, FileHandle cacheFile) throws IOException {
+        final ByteBuffer pixels = pixmap.getPixels();
+        final byte[] row = new byte[pixmap.getWidth() * BYTES_PER_PIXEL];
+
+        DataOutputStream output = new DataOutputStream(tempFile.write(false, row.length));
+        try {
+            output.writeInt(CACHE_MAGIC);
+            output.writeInt(pixmap.getWidth());
+            output.writeInt(pixmap.getHeight());
+            pixels.position(0);
+            for (int y = 0; y < pixmap.getHeight(); y++) {
+                pixels.get(row);
+                output.write(row);
+            }
+            pixels.position(0);
+        } finally {
+            StreamUtils.closeQuietly(output);
+        }
+        tempFile.moveTo(cacheFile);
+    }
+
+    /**
+     * Memory-maps the pixels of a cache file into {@code mMappedPixels}.
+     *
+     * @param cacheFile file to map
+     * @throws IOException if the file cannot be read or is not a valid cache file
+     */
+    private void mapCache(FileHandle cacheFile) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(cacheFile.file(), "r");
+        try {
+            ByteBuffer mapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+            if (mapped.capacity() < CACHE_HEADER_SIZE || mapped.getInt() != CACHE_MAGIC)
+                throw new IOException("Not a texture cache file");
+            mWidth = mapped.getInt();
+            mHeight = mapped.getInt();
+            if (mapped.remaining() != (long) mWidth * mHeight * BYTES_PER_PIXEL)
+                throw new IOException("Texture cache file is truncated");
+            mMappedPixels = mapped.slice();
+        } finally {
+            StreamUtils.closeQuietly(file);
+        }
+    }
+
+    /**
+     * Decodes the image without using the cache.
+     *
+     * @return the decoded RGBA8888 pixels
+     */
+    private Pixmap decodeSource() {
+        return toRgba8888(new Pixmap(mSourceFile));
+    }
+
+    /**
+     * Converts a pixmap to RGBA8888, the format of the cache.
+     *
+     * @param pixmap pixmap to convert, which is disposed if it is not already RGBA8888
+     * @return a pixmap in RGBA8888
+     */
+    private static Pixmap toRgba8888(Pixmap pixmap) {
+        if (pixmap.getFormat() == Pixmap.Format.RGBA8888)
+            return pixmap;
+
+        Pixmap converted = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), Pixmap.Format.RGBA8888);
+        Pixmap.Blending blending = Pixmap.getBlending();
+        Pixmap.setBlending(Pixmap.Blending.None);
+        converted.drawPixmap(pixmap, 0, 0);
+        Pixmap.setBlending(blending);
+        pixmap.dispose();
+        return converted;
+    }
+
+    /**
+     * Uploads the prepared pixels to the bound texture and releases them.
+     *
+     * @param target GL target of the texture
+     */
+    @Override
+    public void consumeCustomData(int target) {
+        if (!mPrepared)
+            throw new GdxRuntimeException("Call prepare() before calling consumeCustomData()");
+
+        final ByteBuffer pixels = (mMappedPixels != null)
+                ? mMappedPixels
+                : mDecodedPixmap.getPixels();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glTexImage2D(target, 0, GL20.GL_RGBA, mWidth, mHeight, 0, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, pixels);
+        if (mUseMipMaps)
+            Gdx.gl.glGenerateMipmap(target);
+
+        if (mDecodedPixmap != null)
+            mDecodedPixmap.dispose();
+        mDecodedPixmap = null;
+        mMappedPixels = null;
+        mPrepared = false;
+    }
+
+    @Override
+    public Pixmap consumePixmap() {
+        throw new GdxRuntimeException("This TextureData implementation does not return a Pixmap");
+    }
+
+    @Override
+    public boolean disposePixmap() {
+        throw new GdxRuntimeException("This TextureData implementation does not return a Pixmap");
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public Pixmap.Format getFormat() {
+        return Pixmap.Format.RGBA8888;
+    }
+
+    @Override
+    public boolean useMipMaps() {
+        return mUseMipMaps;
+    }
+
+    @Override
+    public boolean isManaged() {
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package ca.josephroque.swip.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads a BMFont whose glyph pages hold signed distance fields, as baked by {@code DistanceFieldFontGenerator}. The
+ * pages are loaded as linearly filtered {@code Texture} dependencies, which the asset manager owns, and the font's
+ * smoothing is chosen from the spread the fields were baked with.
+ */
+public class DistanceFieldFontLoader
+        extends AsynchronousAssetLoader<DistanceFieldFont, DistanceFieldFontLoader.Parameters> {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "DistanceFieldFontLoader";
+
+    /** Description of the font being loaded. */
+    private BitmapFont.BitmapFontData mFontData;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param resolver resolves the names of fonts to files
+     */
+    public DistanceFieldFontLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        mFontData = new BitmapFont.BitmapFontData(file, parameter != null && parameter.flip);
+
+        // Distance fields must be sampled linearly for edges to be reconstructed between texels
+        TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+        textureParameter.minFilter = Texture.TextureFilter.Linear;
+        textureParameter.magFilter = Texture.TextureFilter.Linear;
+
+        Array<AssetDescriptor> dependencies = new Array<>();
+        for (String imagePath : mFontData.imagePaths)
+            dependencies.add(new AssetDescriptor<>(resolve(imagePath), Texture.class, textureParameter));
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        // does nothing - the glyph pages are loaded as dependencies
+    }
+
+    @Override
+    public DistanceFieldFont loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        Array<TextureRegion> regions = new Array<>(mFontData.imagePaths.length);
+        for (String imagePath : mFontData.imagePaths)
+            regions.add(new TextureRegion(manager.get(resolve(imagePath).path(), Texture.class)));
+
+        // Positions are not rounded, since the font is scaled to sizes other than the one it was baked at
+        DistanceFieldFont font = new DistanceFieldFont(mFontData, regions, false);
+        font.setDistanceFieldSmoothing(mFontData.padTop / 2f);
+        mFontData = null;
+        return font;
+    }
+
+    /**
+     * Parameters for loading a distance field font.
+     */
+    public static class Parameters extends AssetLoaderParameters<DistanceFieldFont> {
+
+        /** Indicates if the font should be flipped vertically, for a y-down coordinate system. */
+        public boolean flip;
+    }
+}
@@ -0,0 +1,201 @@
+package ca.josephroque.swip.assets;
+
+import ca.josephroque.swip.manager.TextureManager;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * Loads a {@code TextureAtlas}, preparing all of its pages at the same time on worker threads. Only uploading the
+ * prepared pages to the GPU happens on the rendering thread. The stock loader instead loads each page as a separate
+ * {@code Texture} dependency, one after another. The asset manager loads one asset at a time, so pages are started
+ * by {@code preparePages()} when their atlas is queued, on worker threads shared by every loader, and the pages of
+ * every queued atlas are prepared at the same time. Pages are loaded in a single {@code TextureManager.TextureFormat}.
+ * Compressed pages are read as they were packed, with their mip maps, and PNG pages are backed by
+ * {@code CachedTextureData}, so after the first launch they are read from the local texture cache rather than decoded.
+ */
+public class ParallelTextureAtlasLoader
+        extends AsynchronousAssetLoader<TextureAtlas, ParallelTextureAtlasLoader.Parameters> {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "AtlasLoader";
+
+    /** Prepares the pages of every atlas, or {@code null} until the first page is prepared. */
+    private static AsyncExecutor sExecutor;
+
+    /** Format of the pages which are loaded in place of the PNG pages named by each atlas. */
+    private final TextureManager.TextureFormat mFormat;
+    /** Atlases whose pages are being prepared but which the asset manager has not yet loaded, by file name. */
+    private final ObjectMap<String, PendingAtlas> mPendingAtlases = new ObjectMap<>();
+
+    /** Description of the atlas being loaded. */
+    private TextureAtlas.TextureAtlasData mAtlasData;
+    /** Prepared pages of the atlas being loaded, indexed the same as {@code mAtlasData.getPages()}. */
+    private TextureData[] mPreparedPages;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param resolver resolves the names of atlases to files
+     * @param format format of the pages to load
+     */
+    public ParallelTextureAtlasLoader(FileHandleResolver resolver, TextureManager.TextureFormat format) {
+        super(resolver);
+        mFormat = format;
+    }
+
+    /**
+     * Starts preparing the pages of an atlas on the worker threads, without waiting for the asset manager to reach it.
+     * Should be called on the rendering thread when the atlas is queued, and does nothing if its pages are already
+     * being prepared.
+     *
+     * @param fileName name of the atlas, as queued with the asset manager
+     * @param parameter parameters of the atlas, as queued with the asset manager
+     */
+    public void preparePages(String fileName, Parameters parameter) {
+        synchronized (mPendingAtlases) {
+            if (!mPendingAtlases.containsKey(fileName))
+                mPendingAtlases.put(fileName, new PendingAtlas(resolve(fileName), parameter, mFormat));
+        }
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        PendingAtlas pendingAtlas;
+        synchronized (mPendingAtlases) {
+            pendingAtlas = mPendingAtlases.remove(fileName);
+        }
+        if (pendingAtlas == null)
+            pendingAtlas = new PendingAtlas(file, parameter, mFormat);
+
+        // Pages of atlases queued after this one continue to be prepared while this thread waits
+        mAtlasData = pendingAtlas.mAtlasData;
+        mPreparedPages = new TextureData[pendingAtlas.mResults.size];
+        for (int i = 0; i < mPreparedPages.length; i++)
+            mPreparedPages[i] = pendingAtlas.mResults.get(i).get();
+    }
+
+    @Override
+    public TextureAtlas loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        final Array<TextureAtlas.TextureAtlasData.Page> pages = mAtlasData.getPages();
+        for (int i = 0; i < pages.size; i++) {
+            TextureAtlas.TextureAtlasData.Page page = pages.get(i);
+
+            // Textures are managed, so they are reloaded from their files if the GL context is lost
+            Texture texture = new Texture(mPreparedPages[i]);
+            texture.setFilter(page.minFilter, page.magFilter);
+            texture.setWrap(page.uWrap, page.vWrap);
+            page.texture = texture;
+        }
+
+        TextureAtlas atlas = new TextureAtlas(mAtlasData);
+        mAtlasData = null;
+        mPreparedPages = null;
+        return atlas;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        return null;
+    }
+
+    /**
+     * Gets the executor which prepares the pages of every atlas, with a thread for each processor.
+     *
+     * @return the shared executor
+     */
+    private static synchronized AsyncExecutor getExecutor() {
+        if (sExecutor == null)
+            sExecutor = new AsyncExecutor(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        return sExecutor;
+    }
+
+    /**
+     * An atlas whose pages have been submitted to be prepared.
+     */
+    private static final class PendingAtlas {
+
+        /** Description of the atlas. */
+        private final TextureAtlas.TextureAtlasData mAtlasData;
+        /** Results of preparing each page, indexed the same as {@code mAtlasData.getPages()}. */
+        private final Array<AsyncResult<TextureData>> mResults;
+
+        /**
+         * Reads the description of an atlas and submits each of its pages to be prepared.
+         *
+         * @param file the atlas file
+         * @param parameter parameters of the atlas, or {@code null}
+         * @param format format to prepare the pages in
+         */
+        private PendingAtlas(FileHandle file, Parameters parameter, TextureManager.TextureFormat format) {
+            mAtlasData = new TextureAtlas.TextureAtlasData(file, file.parent(), parameter != null && parameter.flip);
+            final Array<TextureAtlas.TextureAtlasData.Page> pages = mAtlasData.getPages();
+            mResults = new Array<>(pages.size);
+            for (int i = 0; i < pages.size; i++)
+                mResults.add(getExecutor().submit(new PagePrepareTask(pages.get(i), format)));
+        }
+    }
+
+    /**
+     * Prepares the pixels of a single atlas page for uploading.
+     */
+    private static final class PagePrepareTask
+            implements AsyncTask<TextureData> {
+
+        /** The page to prepare. */
+        private final TextureAtlas.TextureAtlasData.Page mPage;
+        /** Format to prepare the page in. */
+        private final TextureManager.TextureFormat mFormat;
+
+        /**
+         * Creates a task to prepare a page.
+         *
+         * @param page the page to prepare
+         * @param format format to prepare the page in
+         */
+        private PagePrepareTask(TextureAtlas.TextureAtlasData.Page page, TextureManager.TextureFormat format) {
+            mPage = page;
+            mFormat = format;
+        }
+
+        @Override
+        public TextureData call() throws Exception {
+            final long startTime = TimeUtils.nanoTime();
+            final FileHandle pageFile = mFormat.getPageFile(mPage.textureFile);
+
+            // Compressed pages already contain their mip maps, which cannot be generated after uploading
+            TextureData data = (mFormat == TextureManager.TextureFormat.Png)
+                    ? new CachedTextureData(pageFile, mPage.useMipMaps)
+                    : new KTXTextureData(pageFile, false);
+            data.prepare();
+            Gdx.app.debug(TAG, "Prepared " + pageFile.name() + " on " + Thread.currentThread().getName()
+                    + " in " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(startTime)) + " ms");
+            return data;
+        }
+    }
+
+    /**
+     * Parameters for loading an atlas.
+     */
+    public static class Parameters
+            extends AssetLoaderParameters<TextureAtlas> {
+        /** Indicates if every region should be flipped vertically. */
+        public boolean flip;
+    }
+}
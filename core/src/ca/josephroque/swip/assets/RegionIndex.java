@@ -0,0 +1,262 @@
+package ca.josephroque.swip.assets;
+
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.GameManager;
+import ca.josephroque.swip.manager.MenuManager;
+import ca.josephroque.swip.manager.TextureManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary index from the regions the game draws to their position in the packed atlases. The index is written by the
+ * spritesheet packer, after it has checked every region against the enums it represents, so the game can resolve
+ * every region with a single read and no lookups by name. Each group of regions starts at one of the offsets in this
+ * class, followed by one slot for each value of its enum, in ordinal order. Every slot belongs to one {@code
+ * TextureManager.TextureGroup}, and holds the position of its region in that group's atlas. The slots are followed
+ * by a hull for each trimmed slot: a convex polygon around the visible pixels of its region, so the region can be
+ * drawn without shading the transparent pixels around it.
+ */
+public final class RegionIndex {
+
+    /** First four bytes of the index. */
+    private static final int MAGIC = 0x53574958;
+    /** Number of bytes before the slots in the index: the magic number and the number of slots. */
+    private static final int HEADER_SIZE = 8;
+    /** Number of bytes in each slot. */
+    private static final int SLOT_SIZE = 2;
+    /** Number of bytes in each hull vertex: a fixed point horizontal and vertical position. */
+    private static final int HULL_VERTEX_SIZE = 4;
+    /** Value a fixed point hull position is stored as at the far edge of its region. */
+    private static final int HULL_SCALE = 0xffff;
+    /** Fewest vertices a hull may have. */
+    private static final int MINIMUM_HULL_VERTICES = 3;
+    /** Most vertices a hull may have. */
+    public static final int MAXIMUM_HULL_VERTICES = 8;
+
+    /** Number of wall sides. */
+    private static final int SIDES = Wall.Side.values().length;
+    /** Number of slanted edges on each wall. */
+    public static final int WALL_EDGES_PER_SIDE = 2;
+
+    /** Slot of the first neutral wall, followed by one for each {@code Wall.Side}. */
+    public static final int WALLS = 0;
+    /**
+     * Slot of the first neutral wall edge, followed by {@code WALL_EDGES_PER_SIDE} for each {@code Wall.Side}. The
+     * edge closest to the top of the original texture is first.
+     */
+    public static final int WALL_EDGES = WALLS + SIDES;
+    /** Slot of the neutral ball. */
+    public static final int BALL = WALL_EDGES + SIDES * WALL_EDGES_PER_SIDE;
+    /** Slot of the complete ball overlay shadow. */
+    public static final int BALL_OVERLAY = BALL + 1;
+    /** Slot of the first countdown icon, followed by one for each {@code GameManager.GameCountdown}. */
+    public static final int COUNTDOWN = BALL_OVERLAY + 1;
+    /** Slot of the first menu icon, followed by one for each {@code MenuManager.MenuBallOption}. */
+    public static final int MENU = COUNTDOWN + GameManager.GameCountdown.values().length;
+    /** Slot of the first system icon, followed by one for each {@code TextureManager.SystemIcon}. */
+    public static final int SYSTEM = MENU + MenuManager.MenuBallOption.getSize();
+    /** Slot of the first background panel, followed by one for each {@code TextureManager.Background}. */
+    public static final int BACKGROUNDS = SYSTEM + TextureManager.SystemIcon.values().length;
+    /** Total number of slots in the index. */
+    public static final int SIZE = BACKGROUNDS + TextureManager.Background.values().length;
+
+    /**
+     * Checks if the region in a slot is trimmed to a hull. The regions of the wall edges and the ball are trimmed,
+     * since they are drawn often and a large part of each is transparent. The ball overlay is not, since it is drawn
+     * as a fan of wedges which already follows the circle of the ball.
+     *
+     * @param slot slot of the region
+     * @return {@code true} if the index holds a hull for the slot
+     */
+    public static boolean isTrimmed(int slot) {
+        return slot >= WALL_EDGES && slot <= BALL;
+    }
+
+    /**
+     * Gets the name of the atlas region which belongs in each slot, in the form {@code category/Name}.
+     *
+     * @return an array of {@code SIZE} region names
+     */
+    public static String[] getRegionNames() {
+        String[] names = new String[SIZE];
+        for (Wall.Side side : Wall.Side.values()) {
+            names[WALLS + side.ordinal()] = "walls/" + side.name();
+            names[WALL_EDGES + side.ordinal() * WALL_EDGES_PER_SIDE] = "walls/" + side.name() + "TopEdge";
+            names[WALL_EDGES + side.ordinal() * WALL_EDGES_PER_SIDE + 1] = "walls/" + side.name() + "BottomEdge";
+        }
+        names[BALL] = "balls/Neutral";
+        names[BALL_OVERLAY] = "ball_overlays/Composite";
+        putNames(names, COUNTDOWN, "countdown", GameManager.GameCountdown.values());
+        putNames(names, MENU, "menu", MenuManager.MenuBallOption.values());
+        putNames(names, SYSTEM, "system", TextureManager.SystemIcon.values());
+        putNames(names, BACKGROUNDS, "backgrounds", TextureManager.Background.values());
+        return names;
+    }
+
+    /**
+     * Gets the path of the index for a variant of the atlases. Regions may be packed in a different order at each
+     * resolution, so each variant has its own index.
+     *
+     * @param variant resolution of the atlases
+     * @return path of the index within the assets
+     */
+    public static String getPath(TextureManager.Variant variant) {
+        return "atlas/swip" + variant.getSuffix() + ".index";
+    }
+
+    /**
+     * Gets the group whose atlas the region in a slot is packed into.
+     *
+     * @param slot slot of the region
+     * @return the group of the region
+     */
+    public static TextureManager.TextureGroup getGroup(int slot) {
+        if (slot >= COUNTDOWN && slot < MENU)
+            return TextureManager.TextureGroup.Countdown;
+        else if (slot >= MENU && slot < SYSTEM)
+            return TextureManager.TextureGroup.Menu;
+        else
+            return TextureManager.TextureGroup.Game;
+    }
+
+    /**
+     * Writes the region name of each value of an enum into consecutive slots.
+     *
+     * @param names array of region names
+     * @param offset first slot
+     * @param category name of the property file the regions were defined in
+     * @param values every value of the enum
+     */
+    private static void putNames(String[] names, int offset, String category, Enum<?>[] values) {
+        for (Enum<?> value : values)
+            names[offset + value.ordinal()] = category + "/" + value.name();
+    }
+
+    /**
+     * Writes an index.
+     *
+     * @param atlasPositions position in its group's atlas' list of regions of the region for each slot
+     * @param hulls hull of each trimmed slot, as from {@code read()}, and {@code null} for every other slot
+     * @param output stream to write to, which is closed afterwards
+     * @throws IOException if the index cannot be written
+     */
+    public static void write(int[] atlasPositions, float[][] hulls, OutputStream output) throws IOException {
+        if (atlasPositions.length != SIZE)
+            throw new IllegalArgumentException("must have a position for each of the " + SIZE + " slots");
+        if (hulls.length != SIZE)
+            throw new IllegalArgumentException("must have a hull, or null, for each of the " + SIZE + " slots");
+        for (int i = 0; i < SIZE; i++) {
+            if (isTrimmed(i) != (hulls[i] != null))
+                throw new IllegalArgumentException("slot " + i + " must " + ((isTrimmed(i))
+                        ? ""
+                        : "not ") + "have a hull");
+            if (hulls[i] != null && (hulls[i].length % 2 != 0
+                    || hulls[i].length < MINIMUM_HULL_VERTICES * 2
+                    || hulls[i].length > MAXIMUM_HULL_VERTICES * 2))
+                throw new IllegalArgumentException("invalid hull for slot " + i);
+        }
+
+        DataOutputStream data = new DataOutputStream(output);
+        try {
+            data.writeInt(MAGIC);
+            data.writeInt(SIZE);
+            for (int position : atlasPositions) {
+                if (position < 0 || position > Short.MAX_VALUE)
+                    throw new IllegalArgumentException("invalid region position " + position);
+                data.writeShort(position);
+            }
+            for (float[] hull : hulls) {
+                if (hull == null)
+                    continue;
+                data.writeByte(hull.length / 2);
+                for (float position : hull) {
+                    if (position < 0 || position > 1)
+                        throw new IllegalArgumentException("hull positions must be within their region");
+                    data.writeShort(Math.round(position * HULL_SCALE));
+                }
+            }
+        } finally {
+            data.close();
+        }
+    }
+
+    /**
+     * Reads an index.
+     *
+     * @param indexFile file containing the index
+     * @param hulls array of {@code SIZE} hulls, in which the hull of each trimmed slot is set. Each hull lists the
+     * horizontal and vertical position of its vertices in counter-clockwise order, as fractions of the width and
+     * height of the region from its bottom left corner
+     * @return position in its group's atlas of the region for each of the {@code SIZE} slots
+     * @throws IllegalStateException if the index is not valid for this version of the game
+     */
+    public static int[] read(FileHandle indexFile, float[][] hulls) {
+        final ByteBuffer index = ByteBuffer.wrap(indexFile.readBytes());
+        if (index.remaining() < HEADER_SIZE || index.getInt() != MAGIC)
+            throw new IllegalStateException(indexFile.path() + " is not a region index");
+        if (index.getInt() != SIZE || index.remaining() < SIZE * SLOT_SIZE)
+            throw new IllegalStateException(indexFile.path() + " is out of date, run the packTextures task");
+
+        int[] positions = new int[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            positions[i] = index.getShort();
+
+        for (int i = 0; i < SIZE; i++) {
+            hulls[i] = null;
+            if (!isTrimmed(i))
+                continue;
+
+            final int vertices = (index.hasRemaining())
+                    ? index.get()
+                    : 0;
+            if (vertices < MINIMUM_HULL_VERTICES || vertices > MAXIMUM_HULL_VERTICES
+                    || index.remaining() < vertices * HULL_VERTEX_SIZE)
+                throw new IllegalStateException(indexFile.path() + " is out of date, run the packTextures task");
+
+            hulls[i] = new float[vertices * 2];
+            for (int j = 0; j < hulls[i].length; j++)
+                hulls[i][j] = (index.getShort() & HULL_SCALE) / (float) HULL_SCALE;
+        }
+
+        if (index.hasRemaining())
+            throw new IllegalStateException(indexFile.path() + " is out of date, run the packTextures task");
+        return positions;
+    }
+
+    /**
+     * Resolves the region in each slot which belongs to a group.
+     *
+     * @param positions the index, as returned by {@code read()}
+     * @param group group to resolve
+     * @param atlas atlas of the group
+     * @param regions array of {@code SIZE} regions, in which the slots of the group are set
+     * @throws IllegalStateException if the index does not match the atlas
+     */
+    public static void resolve(int[] positions,
+                               TextureManager.TextureGroup group,
+                               TextureAtlas atlas,
+                               TextureRegion[] regions) {
+        final Array<TextureAtlas.AtlasRegion> atlasRegions = atlas.getRegions();
+        for (int i = 0; i < SIZE; i++) {
+            if (getGroup(i) != group)
+                continue;
+            if (positions[i] < 0 || positions[i] >= atlasRegions.size)
+                throw new IllegalStateException("region index does not match the atlas of " + group);
+            regions[i] = atlasRegions.get(positions[i]);
+        }
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private RegionIndex() {
+        // does nothing
+    }
+}
@@ -0,0 +1,70 @@
+package ca.josephroque.swip.assets;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Creates the shader which sprites are drawn with when the atlas pages are ETC1, which has no alpha channel. Such
+ * pages are packed twice as tall as their regions need, with the alpha channel stored as gray below the colors, so
+ * regions always lie in the top half and their alpha is sampled half a texture below.
+ */
+public final class SplitAlphaShader {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "SplitAlphaShader";
+
+    /** Vertex shader, identical to the default {@code SpriteBatch} vertex shader. */
+    private static final String VERTEX_SHADER = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    /** Fragment shader, which combines the colors of a texel with the alpha stored half a texture below it. */
+    private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+            + "#define LOWP lowp\n"
+            + "precision mediump float;\n"
+            + "#else\n"
+            + "#define LOWP \n"
+            + "#endif\n"
+            + "varying LOWP vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "\n"
+            + "void main() {\n"
+            + "    vec3 color = texture2D(u_texture, v_texCoords).rgb;\n"
+            + "    float alpha = texture2D(u_texture, v_texCoords + vec2(0.0, 0.5)).g;\n"
+            + "    gl_FragColor = v_color * vec4(color, alpha);\n"
+            + "}\n";
+
+    /**
+     * Compiles the shader. Must be called on the rendering thread, and the shader must be disposed by the caller.
+     *
+     * @return the compiled shader
+     * @throws IllegalStateException if the shader cannot be compiled
+     */
+    public static ShaderProgram create() {
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            final String log = shader.getLog();
+            shader.dispose();
+            throw new IllegalStateException("Could not compile split alpha shader: " + log);
+        }
+        return shader;
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private SplitAlphaShader() {
+        // does nothing
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Loaders which bring the game's assets into memory.
+ */
+package ca.josephroque.swip.assets;
@@ -1,7 +1,7 @@
 package ca.josephroque.swip.entity;
 
 import ca.josephroque.swip.manager.TextureManager;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.render.RenderQueue;
 import com.badlogic.gdx.math.Circle;
 
 /**
@@ -36,13 +36,22 @@ public abstract class BasicBall
     private boolean mScalingCompleted;
 
     /** Color of the ball. */
-    private final TextureManager.GameColor mBallColor;
+    private TextureManager.GameColor mBallColor;
     /** Callback interface for completion or interruption of scaling. */
     private ScalingCompleteListener mScalingListener;
 
     /** Circle which defines the ball's positioning. */
     private Circle mBoundingCircle;
 
+    /** Horizontal position of the ball at the beginning of the last tick. */
+    private float mPreviousX;
+    /** Vertical position of the ball at the beginning of the last tick. */
+    private float mPreviousY;
+    /** Horizontal position the ball was last drawn at. */
+    private float mDrawX;
+    /** Vertical position the ball was last drawn at. */
+    private float mDrawY;
+
     /**
      * Prepares a new {@code BasicBall} instance. New balls will begin to grow when they are created.
      *
@@ -56,6 +65,29 @@ public abstract class BasicBall
 
         mBallColor = color;
         mBoundingCircle = new Circle(x, y, 0);
+        mPreviousX = x;
+        mPreviousY = y;
+    }
+
+    /**
+     * Returns the ball to the state of a newly created ball, so it can be reused instead of creating a new instance.
+     * The scaling listener is kept.
+     *
+     * @param color new color of the ball
+     * @param x new horizontal position of the ball
+     * @param y new vertical position of the ball
+     */
+    protected void reset(TextureManager.GameColor color, float x, float y) {
+        mBallColor = color;
+        mScale = 0;
+        mScaleTime = BALL_SCALE_TIME;
+        mGrowingOrShrinking = false;
+        mHidden = false;
+        mScalingCompleted = false;
+        mBoundingCircle.set(x, y, 0);
+        mPreviousX = x;
+        mPreviousY = y;
+        setVelocity(0, 0);
     }
 
     /**
@@ -79,20 +111,53 @@ public abstract class BasicBall
     }
 
     /**
-     * Draws the ball to the screen.
+     * Submits the ball to be drawn at its current position.
+     *
+     * @param renderQueue queue to submit the ball to
+     * @param textureManager to get texture to draw
+     */
+    public void draw(RenderQueue renderQueue, TextureManager textureManager) {
+        draw(renderQueue, textureManager, 1f);
+    }
+
+    /**
+     * Submits the ball to be drawn between its position at the beginning and end of the last tick.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the ball to
      * @param textureManager to get texture to draw
+     * @param interpolation fraction of a tick which has passed since the last tick
      */
-    public void draw(SpriteBatch spriteBatch, TextureManager textureManager) {
+    public void draw(RenderQueue renderQueue, TextureManager textureManager, float interpolation) {
+        mDrawX = mPreviousX + (getX() - mPreviousX) * interpolation;
+        mDrawY = mPreviousY + (getY() - mPreviousY) * interpolation;
         if (isHidden())
             return;
 
-        spriteBatch.draw(textureManager.getBallTexture(mBallColor),
-                getX() - getRadius(),
-                getY() - getRadius(),
+        renderQueue.draw(getLayer(),
+                textureManager.getBallTexture(),
+                mDrawX - getRadius(),
+                mDrawY - getRadius(),
                 getWidth(),
-                getHeight());
+                getHeight(),
+                textureManager.getGameColor(mBallColor));
+    }
+
+    /**
+     * Gets the layer the ball is drawn in.
+     *
+     * @return {@code RenderQueue.Layer.Balls}
+     */
+    protected RenderQueue.Layer getLayer() {
+        return RenderQueue.Layer.Balls;
+    }
+
+    /**
+     * Records the current position of the ball as its position at the beginning of a tick. Should be called before
+     * the ball is moved in each tick.
+     */
+    public void storePreviousPosition() {
+        mPreviousX = getX();
+        mPreviousY = getY();
     }
 
     /**
@@ -191,6 +256,15 @@ public abstract class BasicBall
         return mScaleTime < BALL_SCALE_TIME;
     }
 
+    /**
+     * Checks if the ball is animating, or has finished animating and has yet to notify its listener.
+     *
+     * @return {@code true} if the ball must continue to be updated for its appearance to change
+     */
+    public boolean isAnimating() {
+        return !isHidden() && (isScaling() || !mScalingCompleted);
+    }
+
     /**
      * Checks if the ball has been hidden. Can only be unhidden by calling grow().
      *
@@ -209,6 +283,42 @@ public abstract class BasicBall
         return mBoundingCircle.radius;
     }
 
+    /**
+     * Gets the horizontal position of the ball at the beginning of the last tick.
+     *
+     * @return previous horizontal position
+     */
+    protected float getPreviousX() {
+        return mPreviousX;
+    }
+
+    /**
+     * Gets the vertical position of the ball at the beginning of the last tick.
+     *
+     * @return previous vertical position
+     */
+    protected float getPreviousY() {
+        return mPreviousY;
+    }
+
+    /**
+     * Gets the horizontal position the ball was last drawn at.
+     *
+     * @return horizontal draw position
+     */
+    public float getDrawX() {
+        return mDrawX;
+    }
+
+    /**
+     * Gets the vertical position the ball was last drawn at.
+     *
+     * @return vertical draw position
+     */
+    public float getDrawY() {
+        return mDrawY;
+    }
+
     @Override
     public float getX() {
         return mBoundingCircle.x;
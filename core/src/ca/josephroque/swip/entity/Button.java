@@ -1,7 +1,8 @@
 package ca.josephroque.swip.entity;
 
 import ca.josephroque.swip.input.GameInputProcessor;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
@@ -47,12 +48,12 @@ public class Button
     }
 
     /**
-     * Draws the button's icon to the screen.
+     * Submits the button's icon to be drawn.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the icon to
      */
-    public void draw(SpriteBatch spriteBatch) {
-        spriteBatch.draw(mIconTexture, getX(), getY(), getWidth(), getHeight());
+    public void draw(RenderQueue renderQueue) {
+        renderQueue.draw(RenderQueue.Layer.Icons, mIconTexture, getX(), getY(), getWidth(), getHeight(), Color.WHITE);
     }
 
     @Override
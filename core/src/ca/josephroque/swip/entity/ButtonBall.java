@@ -3,7 +3,8 @@ package ca.josephroque.swip.entity;
 import ca.josephroque.swip.manager.TextureManager;
 import ca.josephroque.swip.input.GameInputProcessor;
 import ca.josephroque.swip.manager.MenuManager;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
@@ -16,28 +17,23 @@ public class ButtonBall
     @SuppressWarnings("unused")
     private static final String TAG = "ButtonBall";
 
-    /** Menu action which clicking this ball invokes. */
+    /** Menu action which clicking this ball invokes, and whose icon is drawn over the ball. */
     private MenuManager.MenuBallOption mMenuOption;
-    /** Icon of the button. */
-    private TextureRegion mButtonIcon;
 
     /**
      * Prepares a new ball object.
      *
      * @param option menu item the ball represents
      * @param ballColor color of the ball
-     * @param buttonIcon icon for the button
      * @param x starting horizontal position of the ball
      * @param y starting vertical position of the ball
      */
     public ButtonBall(MenuManager.MenuBallOption option,
                       TextureManager.GameColor ballColor,
-                      TextureRegion buttonIcon,
                       float x,
                       float y) {
         super(ballColor, x, y);
         mMenuOption = option;
-        mButtonIcon = buttonIcon;
     }
 
     /**
@@ -52,25 +48,37 @@ public class ButtonBall
     }
 
     /**
-     * Draws the ball and its icon to the screen.
+     * Submits the ball and its icon to be drawn. The icon is retrieved on each draw, since it is unloaded while the
+     * menu is not displayed.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the ball to
      * @param textureManager to get texture to draw
      */
-    public void draw(SpriteBatch spriteBatch, TextureManager textureManager) {
-        super.draw(spriteBatch, textureManager);
-
-        if (mButtonIcon != null)
-            drawIcon(spriteBatch);
+    @Override
+    public void draw(RenderQueue renderQueue, TextureManager textureManager) {
+        super.draw(renderQueue, textureManager);
+        drawIcon(renderQueue, textureManager.getMenuButtonIconTexture(mMenuOption));
     }
 
     /**
-     * Draws the button's icon over top of the ball.
+     * Submits the button's icon to be drawn over top of the ball.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the icon to
+     * @param buttonIcon icon of the button
      */
-    private void drawIcon(SpriteBatch spriteBatch) {
-        spriteBatch.draw(mButtonIcon, getX() - getRadius(), getY() - getRadius(), getWidth(), getHeight());
+    private void drawIcon(RenderQueue renderQueue, TextureRegion buttonIcon) {
+        renderQueue.draw(RenderQueue.Layer.Icons,
+                buttonIcon,
+                getX() - getRadius(),
+                getY() - getRadius(),
+                getWidth(),
+                getHeight(),
+                Color.WHITE);
+    }
+
+    @Override
+    protected RenderQueue.Layer getLayer() {
+        return RenderQueue.Layer.Buttons;
     }
 
     /**
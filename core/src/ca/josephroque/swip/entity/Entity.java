@@ -98,4 +98,14 @@ public abstract class Entity {
     void setVelocity(Vector2 velocity) {
         mVelocity.set(velocity);
     }
+
+    /**
+     * Updates the entity's moving velocity.
+     *
+     * @param x new horizontal velocity
+     * @param y new vertical velocity
+     */
+    void setVelocity(float x, float y) {
+        mVelocity.set(x, y);
+    }
 }
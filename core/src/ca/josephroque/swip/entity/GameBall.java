@@ -2,7 +2,10 @@ package ca.josephroque.swip.entity;
 
 import ca.josephroque.swip.manager.TextureManager;
 import ca.josephroque.swip.input.GameInputProcessor;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 
 /**
  * Balls for swiping into the walls.
@@ -14,14 +17,30 @@ public class GameBall
     @SuppressWarnings("unused")
     private static final String TAG = "GameBall";
 
-    /** Indicates the walls which the ball can pass through. */
-    private final boolean[] mPassableWalls;
+    /** Number of triangles used to draw each wedge of the timer overlay. */
+    private static final int TRIANGLES_PER_SHADOW_PART = 4;
+    /** Number of floats {@code SpriteBatch} uses to describe a single quad (4 vertices of x, y, color, u, v). */
+    private static final int VERTICES_PER_QUAD = 20;
+
+    /** Time of impact reported when the ball did not cross a wall in the last tick. */
+    private static final float NO_IMPACT = Float.POSITIVE_INFINITY;
+
+    /** Vertices of the timer overlay, shared between balls since only one is drawn at a time. */
+    private static float[] sOverlayVertices = new float[0];
+
+    /** Walls which the ball can pass through, as a bitmask where bit {@code i} represents wall {@code i}. */
+    private int mPassableWalls;
     /** Indicates if the ball has touched a wall it cannot pass through. */
     private boolean mHitInvalidWall;
-    /** Indicates if the ball has passed at least halfway through a valid wall. */
-    private boolean[] mHalfwayThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
-    /** Indicates if the ball has completely passed through a valid wall. */
-    private boolean[] mPassedThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
+    /** Walls which the ball has passed at least halfway through, as a bitmask. */
+    private int mHalfwayThroughWalls;
+    /** Walls which the ball has completely passed through, as a bitmask. */
+    private int mPassedThroughWalls;
+
+    /** Index of the wall which decided the outcome of the last tick, or -1 if no wall did. */
+    private int mImpactWall = -1;
+    /** Fraction of the last tick at which the ball crossed {@code mImpactWall}. */
+    private float mImpactTime = NO_IMPACT;
 
     /** Indicates if the ball is currently being dragged around the screen by the user. */
     private boolean mIsDragging;
@@ -30,15 +49,37 @@ public class GameBall
      * Prepares a new ball object.
      *
      * @param ballColor color of the ball
-     * @param passableWalls walls which the ball can pass through
+     * @param passableWalls walls which the ball can pass through, as a bitmask where bit {@code i} represents wall
+     * {@code i}
      * @param x starting horizontal position of the ball
      * @param y starting vertical position of the ball
      */
-    public GameBall(TextureManager.GameColor ballColor, boolean[] passableWalls, float x, float y) {
+    public GameBall(TextureManager.GameColor ballColor, int passableWalls, float x, float y) {
         super(ballColor, x, y);
         mPassableWalls = passableWalls;
     }
 
+    /**
+     * Returns the ball to the state of a newly created ball for a new turn, so a single instance can be reused for
+     * every turn.
+     *
+     * @param ballColor new color of the ball
+     * @param passableWalls walls which the ball can pass through, as a bitmask where bit {@code i} represents wall
+     * {@code i}
+     * @param x starting horizontal position of the ball
+     * @param y starting vertical position of the ball
+     */
+    public void reset(TextureManager.GameColor ballColor, int passableWalls, float x, float y) {
+        reset(ballColor, x, y);
+        mPassableWalls = passableWalls;
+        mHitInvalidWall = false;
+        mHalfwayThroughWalls = 0;
+        mPassedThroughWalls = 0;
+        mImpactWall = -1;
+        mImpactTime = NO_IMPACT;
+        mIsDragging = false;
+    }
+
     /**
      * Updates the ball's position and evaluates relevant logic.
      *
@@ -54,71 +95,82 @@ public class GameBall
     }
 
     /**
-     * Checks to see if the ball is passing through a wall or colliding with a solid wall.
+     * Checks to see if the ball is passing through a wall or colliding with a solid wall. The ball is swept from its
+     * position at the beginning of the tick to its current position, so the order in which it crossed the walls is
+     * found no matter how far it moved in a single tick.
      *
      * @param walls walls on the screen
      */
     private void checkWalls(Wall[] walls) {
+        final float radius = getRadius();
+        float firstHalfway = NO_IMPACT;
+        float firstSolidTouch = NO_IMPACT;
+        int solidWall = -1;
+        float firstPass = NO_IMPACT;
+        int passedWall = -1;
+
+        mHalfwayThroughWalls = 0;
+        mPassedThroughWalls = 0;
         for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
-            boolean hitWall;
-            switch (walls[i].getSide()) {
-                case Top:
-                    hitWall = getY() + getRadius() > walls[i].getY();
-                    break;
-                case Bottom:
-                    hitWall = getY() - getRadius() < walls[i].getY() + walls[i].getHeight();
-                    break;
-                case Left:
-                    hitWall = getX() - getRadius() < walls[i].getX() + walls[i].getWidth();
-                    break;
-                case Right:
-                    hitWall = getX() + getRadius() > walls[i].getX();
-                    break;
-                default:
-                    throw new IllegalArgumentException("invalid wall side.");
-            }
+            final float start = walls[i].getPenetration(getPreviousX(), getPreviousY());
+            final float end = walls[i].getPenetration(getX(), getY());
 
-            if (hitWall) {
-                if (mPassableWalls[i]) {
-                    checkIfPastWall(walls[i], i);
-                } else if (!hasPassedHalfwayThroughWall() && !hasPassedThroughWall()) {
-                    mHitInvalidWall = true;
+            if ((mPassableWalls & (1 << i)) != 0) {
+                final float halfway = getCrossingTime(start, end, 0);
+                final float passed = getCrossingTime(start, end, radius);
+                if (halfway <= 1)
+                    mHalfwayThroughWalls |= 1 << i;
+                if (passed <= 1)
+                    mPassedThroughWalls |= 1 << i;
+                firstHalfway = Math.min(firstHalfway, halfway);
+                if (passed < firstPass) {
+                    firstPass = passed;
+                    passedWall = i;
+                }
+            } else {
+                final float touch = getCrossingTime(start, end, -radius);
+                if (touch < firstSolidTouch) {
+                    firstSolidTouch = touch;
+                    solidWall = i;
                 }
             }
         }
+
+        // A solid wall only counts if it was touched before the ball made it halfway through a passable wall
+        if (firstSolidTouch <= 1 && firstSolidTouch < firstHalfway) {
+            mHitInvalidWall = true;
+            mPassedThroughWalls = 0;
+            mImpactWall = solidWall;
+            mImpactTime = firstSolidTouch;
+        } else if (firstPass <= 1) {
+            mImpactWall = passedWall;
+            mImpactTime = firstPass;
+        } else {
+            mImpactWall = -1;
+            mImpactTime = NO_IMPACT;
+        }
     }
 
     /**
-     * Checks to see if the ball has successfully passed completely through a wall.
+     * Finds the fraction of a tick at which the signed distance of the ball past a wall first reached {@code
+     * threshold}, given its distance at the beginning and end of the tick.
      *
-     * @param wall wall to check
-     * @param index index of wall to check against member variables
+     * @param start distance at the beginning of the tick
+     * @param end distance at the end of the tick
+     * @param threshold distance to find the crossing of
+     * @return a value from 0 to 1, or {@code NO_IMPACT} if the threshold was not reached during the tick
      */
-    private void checkIfPastWall(Wall wall, int index) {
-        switch (wall.getSide()) {
-            case Top:
-                mPassedThroughWall[index] = getY() - getRadius() > wall.getY();
-                mHalfwayThroughWall[index] = getY() > wall.getY();
-                break;
-            case Bottom:
-                mPassedThroughWall[index] = getY() + getRadius() < wall.getY() + wall.getHeight();
-                mHalfwayThroughWall[index] = getY() < wall.getY() + wall.getHeight();
-                break;
-            case Left:
-                mPassedThroughWall[index] = getX() + getRadius() < wall.getX() + wall.getWidth();
-                mHalfwayThroughWall[index] = getX() < wall.getX() + wall.getWidth();
-                break;
-            case Right:
-                mPassedThroughWall[index] = getX() - getRadius() > wall.getX();
-                mHalfwayThroughWall[index] = getX() > wall.getX();
-                break;
-            default:
-                throw new IllegalArgumentException("invalid wall side.");
-        }
+    private static float getCrossingTime(float start, float end, float threshold) {
+        if (start >= threshold)
+            return 0;
+        if (end < threshold)
+            return NO_IMPACT;
+        return (threshold - start) / (end - start);
     }
 
     /**
-     * Attempts to start a drag event if the player has touched the ball.
+     * Attempts to start a drag event if the player has touched the ball. While dragging, the ball follows the
+     * predicted location of the finger so it does not trail behind it.
      *
      * @param gameInput player's input events
      */
@@ -130,34 +182,94 @@ public class GameBall
             if (getBounds().contains(gameInput.getLastFingerX(), gameInput.getLastFingerY()))
                 mIsDragging = true;
         } else {
-            getBounds().setPosition(gameInput.getLastFingerX(), gameInput.getLastFingerY());
+            getBounds().setPosition(gameInput.getPredictedFingerX(), gameInput.getPredictedFingerY());
         }
     }
 
     /**
-     * Draws the ball and its overlay to the screen. The overlay is based on the amount of time that is remaining in the
-     * turn.
+     * Submits the ball and its overlay to be drawn. The overlay is based on the amount of time that is remaining in
+     * the turn.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the ball to
      * @param textureManager to get texture to draw
+     * @param interpolation fraction of a tick which has passed since the last tick
      * @param maxTurnLength total number of seconds the current turn will last
      * @param currentTurnLength duration of the current turn
      */
-    public void draw(SpriteBatch spriteBatch,
+    public void draw(RenderQueue renderQueue,
                      TextureManager textureManager,
+                     float interpolation,
                      float maxTurnLength,
                      float currentTurnLength) {
-        super.draw(spriteBatch, textureManager);
-
-        final int shadowsVisible = textureManager.getTotalBallShadowParts() - 1
-                - (int) ((currentTurnLength / maxTurnLength * 100) / (100 / textureManager.getTotalBallShadowParts()));
-        for (int i = textureManager.getTotalBallShadowParts() - 1; i >= shadowsVisible; i--) {
-            spriteBatch.draw(textureManager.getBallOverlayTexture(i),
-                    getX() - getRadius(),
-                    getY() - getRadius(),
-                    getWidth(),
-                    getHeight());
+        super.draw(renderQueue, textureManager, interpolation);
+        if (isHidden())
+            return;
+
+        final int totalParts = textureManager.getTotalBallShadowParts();
+        final int partsVisible = Math.min(totalParts,
+                1 + (int) ((currentTurnLength / maxTurnLength * 100) / (100 / totalParts)));
+        drawTimerOverlay(renderQueue, textureManager.getBallOverlayTexture(), partsVisible, totalParts);
+    }
+
+    /**
+     * Submits the visible portion of the timer overlay as a fan of triangles over the complete shadow, in a single
+     * command. The fan sweeps counter-clockwise from the top of the ball.
+     *
+     * @param renderQueue queue to submit the overlay to
+     * @param overlay texture of the complete shadow
+     * @param partsVisible number of wedges of the shadow to draw
+     * @param totalParts number of wedges in the complete shadow
+     */
+    private void drawTimerOverlay(RenderQueue renderQueue, TextureRegion overlay, int partsVisible, int totalParts) {
+        final int triangles = partsVisible * TRIANGLES_PER_SHADOW_PART;
+        if (triangles <= 0 || getRadius() <= 0)
+            return;
+
+        // Each quad is the center and three points on the edge, covering two triangles of the fan
+        final int quads = (triangles + 1) / 2;
+        if (sOverlayVertices.length < quads * VERTICES_PER_QUAD)
+            sOverlayVertices = new float[(totalParts * TRIANGLES_PER_SHADOW_PART + 1) / 2 * VERTICES_PER_QUAD];
+
+        final float triangleAngle = MathUtils.PI2 / (totalParts * TRIANGLES_PER_SHADOW_PART);
+        // Outer points are pushed out so each triangle's edge lies outside the circle, rather than cutting it off
+        final float outerRadius = getRadius() / MathUtils.cos(triangleAngle / 2);
+        final float color = Color.WHITE.toFloatBits();
+
+        int idx = 0;
+        for (int quad = 0; quad < quads; quad++) {
+            final int firstTriangle = quad * 2;
+            final int lastPoint = Math.min(firstTriangle + 2, triangles);
+            idx = putOverlayVertex(overlay, idx, 0, 0, color);
+            idx = putOverlayVertex(overlay, idx, firstTriangle * triangleAngle, outerRadius, color);
+            idx = putOverlayVertex(overlay, idx, (firstTriangle + 1) * triangleAngle, outerRadius, color);
+            idx = putOverlayVertex(overlay, idx, lastPoint * triangleAngle, outerRadius, color);
         }
+
+        renderQueue.draw(RenderQueue.Layer.BallOverlays, overlay.getTexture(), sOverlayVertices, 0, idx);
+    }
+
+    /**
+     * Writes a single vertex of the timer overlay to {@code sOverlayVertices}, mapping its position over the ball to
+     * the matching position in the overlay texture.
+     *
+     * @param overlay texture of the complete shadow
+     * @param idx position in {@code sOverlayVertices} to write at
+     * @param angle counter-clockwise angle of the vertex from the top of the ball, in radians
+     * @param distance distance of the vertex from the center of the ball
+     * @param color packed color of the vertex
+     * @return the position in {@code sOverlayVertices} after the vertex
+     */
+    private int putOverlayVertex(TextureRegion overlay, int idx, float angle, float distance, float color) {
+        final float offsetX = -MathUtils.sin(angle) * distance;
+        final float offsetY = MathUtils.cos(angle) * distance;
+        final float diameter = getWidth();
+
+        sOverlayVertices[idx++] = getDrawX() + offsetX;
+        sOverlayVertices[idx++] = getDrawY() + offsetY;
+        sOverlayVertices[idx++] = color;
+        sOverlayVertices[idx++] = overlay.getU() + (overlay.getU2() - overlay.getU()) * (0.5f + offsetX / diameter);
+        sOverlayVertices[idx++] = overlay.getV2() + (overlay.getV() - overlay.getV2()) * (0.5f + offsetY / diameter);
+        return idx;
     }
 
     /**
@@ -181,10 +293,7 @@ public class GameBall
      * @return {@code true} if the ball has currently passed through any wall
      */
     public boolean hasPassedThroughWall() {
-        for (boolean throughWall : mPassedThroughWall)
-            if (throughWall)
-                return true;
-        return false;
+        return mPassedThroughWalls != 0;
     }
 
     /**
@@ -193,10 +302,26 @@ public class GameBall
      * @return {@code true} if the ball is currently at least halfway through a wall
      */
     public boolean hasPassedHalfwayThroughWall() {
-        for (boolean halfway : mHalfwayThroughWall)
-            if (halfway)
-                return true;
-        return false;
+        return mHalfwayThroughWalls != 0;
+    }
+
+    /**
+     * Gets the index of the wall which the ball passed through or hit in the last tick. If it crossed more than one,
+     * the wall it crossed first is returned.
+     *
+     * @return index of the wall, or -1 if no wall was passed through or hit
+     */
+    public int getImpactWall() {
+        return mImpactWall;
+    }
+
+    /**
+     * Gets the fraction of the last tick at which the ball crossed {@code getImpactWall()}.
+     *
+     * @return a value from 0 to 1, or {@code Float.POSITIVE_INFINITY} if no wall was crossed
+     */
+    public float getImpactTime() {
+        return mImpactTime;
     }
 
     /**
@@ -1,7 +1,8 @@
 package ca.josephroque.swip.entity;
 
 import ca.josephroque.swip.manager.TextureManager;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Rectangle;
 
 import java.util.ArrayList;
@@ -32,6 +33,14 @@ public class Wall
     /** Number of seconds that a wall animating into place will take. */
     private static final float WALL_TRANSLATION_TIME = 0.175f;
 
+    /** The four colors walls are given before a game starts, in the order they rotate through. */
+    private static final TextureManager.GameColor[] DEFAULT_WALL_COLORS = {
+            TextureManager.GameColor.Red,
+            TextureManager.GameColor.Blue,
+            TextureManager.GameColor.Green,
+            TextureManager.GameColor.Orange,
+    };
+
     /** Array of the possible values for {@code Side}. */
     private static final Side[] POSSIBLE_SIDES = Side.values();
 
@@ -39,8 +48,6 @@ public class Wall
     private static float sDefaultWallSize;
     /** Indicates if the static wall properties have been initialized. */
     private static boolean sWallsInitialized = false;
-    /** Indicates the last wall that was drawn, to ensure walls are drawn in the correct order. */
-    private static int sLastWallDrawn;
 
     /** The chance that two walls will be given the same color in a turn. */
     public static final float CHANCE_OF_SAME_WALL_COLOR = 0.2f;
@@ -52,12 +59,21 @@ public class Wall
     private final Side mWallSide;
     /** Number of seconds a wall has been translating for. */
     private float mWallTranslationTime;
+    /** Number of seconds a wall had been translating for at the beginning of the last tick. */
+    private float mPreviousWallTranslationTime;
     /** Color of the wall. */
     private TextureManager.GameColor mWallColor;
 
     /** Rectangle which defines the bounds of the wall. */
     private Rectangle mBoundingBox;
 
+    /** Horizontal component of the unit normal of the wall's inner face, pointing off the screen. */
+    private float mNormalX;
+    /** Vertical component of the unit normal of the wall's inner face, pointing off the screen. */
+    private float mNormalY;
+    /** Distance of the wall's inner face from the origin, along its normal. */
+    private float mPlaneOffset;
+
     /** Instance of callback interface. */
     private TranslationCompleteListener mTranslationListener;
 
@@ -111,18 +127,22 @@ public class Wall
             case Top:
                 mBoundingBox.setPosition(0, screenHeight - sDefaultWallSize);
                 mBoundingBox.setSize(screenWidth, sDefaultWallSize);
+                setPlane(0, 1, screenHeight - sDefaultWallSize);
                 break;
             case Bottom:
                 mBoundingBox.setPosition(0, 0);
                 mBoundingBox.setSize(screenWidth, sDefaultWallSize);
+                setPlane(0, -1, -sDefaultWallSize);
                 break;
             case Left:
                 mBoundingBox.setPosition(0, 0);
                 mBoundingBox.setSize(sDefaultWallSize, screenHeight);
+                setPlane(-1, 0, -sDefaultWallSize);
                 break;
             case Right:
                 mBoundingBox.setPosition(screenWidth - sDefaultWallSize, 0);
                 mBoundingBox.setSize(sDefaultWallSize, screenHeight);
+                setPlane(1, 0, screenWidth - sDefaultWallSize);
                 break;
             default:
                 throw new IllegalArgumentException("invalid wall side.");
@@ -130,104 +150,152 @@ public class Wall
     }
 
     /**
-     * Draws the wall to the screen.
+     * Sets the plane of the wall's inner face.
      *
-     * @param spriteBatch graphics context to draw to
-     * @param textureManager to get texture to draw
+     * @param normalX horizontal component of the unit normal, pointing off the screen
+     * @param normalY vertical component of the unit normal, pointing off the screen
+     * @param offset distance of the plane from the origin along the normal
      */
-    public void draw(SpriteBatch spriteBatch, TextureManager textureManager) {
-        if (mWallSide.ordinal() != sLastWallDrawn + 1)
-            throw new IllegalStateException("must draw walls in the natural order determined by Wall.Side");
+    private void setPlane(float normalX, float normalY, float offset) {
+        mNormalX = normalX;
+        mNormalY = normalY;
+        mPlaneOffset = offset;
+    }
 
-        if (mWallSide == Side.Right)
-            sLastWallDrawn = -1;
-        else
-            sLastWallDrawn = mWallSide.ordinal();
+    /**
+     * Gets the signed distance of a point past the inner face of the wall. The distance is negative while the point
+     * is on the screen side of the wall, and positive once it is within the wall.
+     *
+     * @param x horizontal position of the point
+     * @param y vertical position of the point
+     * @return distance of the point past the wall's inner face
+     */
+    public float getPenetration(float x, float y) {
+        return x * mNormalX + y * mNormalY - mPlaneOffset;
+    }
+
+    /**
+     * Submits the wall to be drawn, partway between its translation at the beginning and end of the last tick. The
+     * body of the wall is opaque, and its slanted edges are drawn above it in a separate layer, so walls may be
+     * submitted in any order.
+     *
+     * @param renderQueue queue to submit the wall to
+     * @param textureManager to get texture to draw
+     * @param interpolation fraction of a tick which has passed since the last tick
+     * @param incoming {@code true} if the wall is sliding in over the current walls
+     */
+    public void draw(RenderQueue renderQueue, TextureManager textureManager, float interpolation, boolean incoming) {
+        final RenderQueue.Layer bodyLayer = incoming
+                ? RenderQueue.Layer.IncomingWalls
+                : RenderQueue.Layer.Walls;
+        final RenderQueue.Layer edgeLayer = incoming
+                ? RenderQueue.Layer.IncomingWallEdges
+                : RenderQueue.Layer.WallEdges;
+        final Color color = textureManager.getGameColor(mWallColor);
+        final float translationTime = mPreviousWallTranslationTime
+                + (mWallTranslationTime - mPreviousWallTranslationTime) * interpolation;
+        final float offset = Math.min(1f, Math.max(0f, (-translationTime + WALL_TRANSLATION_TIME)
+                / WALL_TRANSLATION_TIME)) * sDefaultWallSize;
 
         if (mWallSide == Side.Top || mWallSide == Side.Bottom)
-            drawHorizontalWall(spriteBatch, textureManager);
+            drawHorizontalWall(renderQueue, textureManager, bodyLayer, edgeLayer, color, offset);
         else
-            drawVerticalWall(spriteBatch, textureManager);
+            drawVerticalWall(renderQueue, textureManager, bodyLayer, edgeLayer, color, offset);
     }
 
     /**
-     * Draws a horizontal wall to the screen.
+     * Submits a horizontal wall to be drawn.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the wall to
      * @param textureManager to get texture to draw
+     * @param bodyLayer layer to draw the body of the wall in
+     * @param edgeLayer layer to draw the edges of the wall in
+     * @param color color of the wall
+     * @param offset distance the wall is still off the screen by
      */
-    private void drawHorizontalWall(SpriteBatch spriteBatch, TextureManager textureManager) {
+    private void drawHorizontalWall(RenderQueue renderQueue,
+                                    TextureManager textureManager,
+                                    RenderQueue.Layer bodyLayer,
+                                    RenderQueue.Layer edgeLayer,
+                                    Color color,
+                                    float offset) {
         final float rotation = -90;
-        float verticalOffset =
-                Math.min(1f, Math.max(0f, (-mWallTranslationTime + WALL_TRANSLATION_TIME) / WALL_TRANSLATION_TIME))
-                        * sDefaultWallSize;
-        if (mWallSide == Side.Bottom)
-            verticalOffset *= -1;
+        final float verticalOffset = (mWallSide == Side.Bottom)
+                ? -offset
+                : offset;
 
-        spriteBatch.draw(textureManager.getWallTexture(mWallSide, mWallColor),
+        renderQueue.draw(bodyLayer,
+                textureManager.getWallTexture(mWallSide),
                 getX() + sDefaultWallSize,
                 getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
                 getHeight(),
                 getWidth() - sDefaultWallSize * 2,
-                1,
-                1,
-                rotation);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, true),
+                rotation,
+                color);
+        renderQueue.draw(edgeLayer,
+                textureManager.getWallEdge(mWallSide, true),
                 getX() + getWidth() - sDefaultWallSize,
                 getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
                 sDefaultWallSize,
                 sDefaultWallSize,
-                1,
-                1,
-                rotation);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, false),
+                rotation,
+                color);
+        renderQueue.draw(edgeLayer,
+                textureManager.getWallEdge(mWallSide, false),
                 getX(),
                 getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
                 sDefaultWallSize,
                 sDefaultWallSize,
-                1,
-                1,
-                rotation);
+                rotation,
+                color);
     }
 
     /**
-     * Draws a vertical wall to the screen.
+     * Submits a vertical wall to be drawn.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the wall to
      * @param textureManager to get texture to draw
+     * @param bodyLayer layer to draw the body of the wall in
+     * @param edgeLayer layer to draw the edges of the wall in
+     * @param color color of the wall
+     * @param offset distance the wall is still off the screen by
      */
-    private void drawVerticalWall(SpriteBatch spriteBatch, TextureManager textureManager) {
-        float horizontalOffset =
-                Math.min(1f, Math.max(0f, (-mWallTranslationTime + WALL_TRANSLATION_TIME) / WALL_TRANSLATION_TIME))
-                        * sDefaultWallSize;
-        if (mWallSide == Side.Left)
-            horizontalOffset *= -1;
-
-        spriteBatch.draw(textureManager.getWallTexture(mWallSide, mWallColor),
+    private void drawVerticalWall(RenderQueue renderQueue,
+                                  TextureManager textureManager,
+                                  RenderQueue.Layer bodyLayer,
+                                  RenderQueue.Layer edgeLayer,
+                                  Color color,
+                                  float offset) {
+        final float horizontalOffset = (mWallSide == Side.Left)
+                ? -offset
+                : offset;
+
+        renderQueue.draw(bodyLayer,
+                textureManager.getWallTexture(mWallSide),
                 getX() + horizontalOffset,
                 getY() + sDefaultWallSize,
                 getWidth(),
-                getHeight() - sDefaultWallSize * 2);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, true),
+                getHeight() - sDefaultWallSize * 2,
+                color);
+        renderQueue.draw(edgeLayer,
+                textureManager.getWallEdge(mWallSide, true),
                 getX() + horizontalOffset,
                 getY() + getHeight() - sDefaultWallSize,
                 sDefaultWallSize,
-                sDefaultWallSize);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, false),
+                sDefaultWallSize,
+                color);
+        renderQueue.draw(edgeLayer,
+                textureManager.getWallEdge(mWallSide, false),
                 getX() + horizontalOffset,
                 getY(),
                 sDefaultWallSize,
-                sDefaultWallSize);
+                sDefaultWallSize,
+                color);
     }
 
     @Override
     public void tick(float delta) {
+        mPreviousWallTranslationTime = mWallTranslationTime;
         if (mWallTranslationTime < WALL_TRANSLATION_TIME) {
             mWallTranslationTime += delta;
             if (mWallTranslationTime > WALL_TRANSLATION_TIME && mTranslationListener != null)
@@ -249,6 +317,7 @@ public class Wall
      */
     public void startTranslation() {
         mWallTranslationTime = 0f;
+        mPreviousWallTranslationTime = 0f;
     }
 
     /**
@@ -271,7 +340,6 @@ public class Wall
         sListActiveColors.clear();
         sListActiveColors.addAll(Arrays.asList(TextureManager.GAME_COLORS).subList(0, NUMBER_OF_WALLS));
 
-        sLastWallDrawn = -1;
         sDefaultWallSize = Math.min(screenWidth, screenHeight) * WALL_SIZE_MULTIPLIER;
         sWallsInitialized = true;
     }
@@ -343,17 +411,10 @@ public class Wall
         else if (iteration < 0)
             throw new IllegalArgumentException("iteration must be greater than or equal to 0");
 
-        final TextureManager.GameColor[] defaultColors = {
-                TextureManager.GameColor.Red,
-                TextureManager.GameColor.Blue,
-                TextureManager.GameColor.Green,
-                TextureManager.GameColor.Orange
-        };
-
-        wallColors[Side.Top.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Right.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Bottom.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Left.ordinal()] = defaultColors[iteration % NUMBER_OF_WALLS];
+        wallColors[Side.Top.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Right.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Bottom.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Left.ordinal()] = DEFAULT_WALL_COLORS[iteration % NUMBER_OF_WALLS];
 
         return -1;
     }
@@ -1,15 +1,14 @@
 package ca.josephroque.swip.input;
 
 import ca.josephroque.swip.screen.GameScreen;
-import ca.josephroque.swip.util.Triplet;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.TimeUtils;
 
-import java.util.LinkedList;
-
 /**
- * Handles gesture input for the application.
+ * Handles gesture input for the application. Touch events are queued with the time they occurred and replayed, in
+ * order, by {@code processEvents()} at the start of the tick which they belong to.
  */
 public class GameInputProcessor
         implements InputProcessor {
@@ -20,16 +19,50 @@ public class GameInputProcessor
 
     /** The maximum number of locations to store of the user's finger history on the screen. */
     private static final int MAXIMUM_FINGER_HISTORY = 5;
-    /** Maximum number of milliseconds a user can hold their finger on the screen for to be "clicking". */
-    private static final int MAXIMUM_CLICK_HOLD_THRESHOLD = 300;
+    /** Maximum number of nanoseconds a user can hold their finger on the screen for to be "clicking". */
+    private static final long MAXIMUM_CLICK_HOLD_THRESHOLD = 300000000L;
     /** Maximum number of pixels a user's finger can move on the screen to be considered a click. */
     private static final int MAXIMUM_CLICK_MOVE_THRESHOLD = 10;
 
     /**
-     * The finger velocity is calculated in milliseconds, but game object velocities use seconds, so the finger velocity
+     * The finger velocity is calculated in nanoseconds, but game object velocities use seconds, so the finger velocity
      * must be scaled up.
      */
-    private static final int FINGER_VELOCITY_SCALE = 1000;
+    private static final float FINGER_VELOCITY_SCALE = 1000000000f;
+
+    /** Number of seconds ahead of the last touch event that the finger's position is predicted. */
+    private static final float DRAG_PREDICTION_TIME = 0.016f;
+    /** Number of nanoseconds after the last touch event at which the finger is assumed to have stopped moving. */
+    private static final long DRAG_PREDICTION_TIMEOUT = 50000000L;
+
+    /** Maximum number of touch events which can wait to be processed. */
+    private static final int EVENT_QUEUE_CAPACITY = 64;
+    /** Queued event type for a finger being placed on the screen. */
+    private static final int EVENT_TOUCH_DOWN = 0;
+    /** Queued event type for a finger being lifted off the screen. */
+    private static final int EVENT_TOUCH_UP = 1;
+    /** Queued event type for a finger moving on the screen. */
+    private static final int EVENT_TOUCH_DRAGGED = 2;
+
+    /** Types of the queued touch events, as a ring buffer starting at {@code mEventQueueStart}. */
+    private final int[] mEventType = new int[EVENT_QUEUE_CAPACITY];
+    /** X locations of the queued touch events, parallel to {@code mEventType}. */
+    private final int[] mEventX = new int[EVENT_QUEUE_CAPACITY];
+    /** Y locations of the queued touch events, parallel to {@code mEventType}. */
+    private final int[] mEventY = new int[EVENT_QUEUE_CAPACITY];
+    /** Times in nanoseconds of the queued touch events, parallel to {@code mEventType}. */
+    private final long[] mEventTime = new long[EVENT_QUEUE_CAPACITY];
+    /** Index of the oldest queued touch event. */
+    private int mEventQueueStart;
+    /** Number of queued touch events. */
+    private int mEventQueueSize;
+
+    /** Indicates if the predicted finger position should lead the last touch event. */
+    private boolean mDragPredictionEnabled = true;
+    /** Predicted x location on screen of a finger. */
+    private float mPredictedFingerX;
+    /** Predicted y location on screen of a finger. */
+    private float mPredictedFingerY;
 
     /** Last recorded x location on screen of a finger. */
     private int mLastFingerX;
@@ -41,13 +74,23 @@ public class GameInputProcessor
     private int mFingerDownY;
     /** Indicates if the user's finger is currently on the screen. */
     private boolean mFingerDown;
-    /** Time that the user last placed their finger on the screen. */
+    /** Time in nanoseconds that the user last placed their finger on the screen. */
     private long mFingerDownTime;
+    /** Time in nanoseconds that the user last lifted their finger off the screen. */
+    private long mFingerUpTime;
     /** Indicates if the user took their finger off the screen in the last tick. */
     private boolean mFingerJustReleased;
 
-    /** Past locations of the user's finger. */
-    private final LinkedList<Triplet<Integer, Integer, Long>> mFingerHistory = new LinkedList<>();
+    /** Past x locations of the user's finger, as a ring buffer ending at {@code mFingerHistoryEnd}. */
+    private final int[] mFingerHistoryX = new int[MAXIMUM_FINGER_HISTORY];
+    /** Past y locations of the user's finger, parallel to {@code mFingerHistoryX}. */
+    private final int[] mFingerHistoryY = new int[MAXIMUM_FINGER_HISTORY];
+    /** Times in nanoseconds of the past locations of the user's finger, parallel to {@code mFingerHistoryX}. */
+    private final long[] mFingerHistoryTime = new long[MAXIMUM_FINGER_HISTORY];
+    /** Index in the finger history after the most recent location. */
+    private int mFingerHistoryEnd;
+    /** Number of locations in the finger history. */
+    private int mFingerHistorySize;
     /** Used to store the moving velocity of the user's finger. */
     private final Vector2 mFingerDragVelocity = new Vector2();
 
@@ -69,6 +112,35 @@ public class GameInputProcessor
         return GameScreen.getScreenHeight() - mLastFingerY;
     }
 
+    /**
+     * Returns the x location of the finger on screen, predicted slightly ahead of the last touch event to hide input
+     * latency while dragging. Equal to {@code getLastFingerX()} if prediction is disabled or the finger has stopped.
+     *
+     * @return predicted x location of the user's first finger
+     */
+    public float getPredictedFingerX() {
+        return mPredictedFingerX;
+    }
+
+    /**
+     * Returns the y location of the finger on screen, predicted slightly ahead of the last touch event to hide input
+     * latency while dragging. Equal to {@code getLastFingerY()} if prediction is disabled or the finger has stopped.
+     *
+     * @return predicted y location of the user's first finger
+     */
+    public float getPredictedFingerY() {
+        return GameScreen.getScreenHeight() - mPredictedFingerY;
+    }
+
+    /**
+     * Enables or disables predicting the location of the finger ahead of the last touch event.
+     *
+     * @param enabled {@code true} to predict the finger's location
+     */
+    public void setDragPredictionEnabled(boolean enabled) {
+        mDragPredictionEnabled = enabled;
+    }
+
     /**
      * Checks if the user's finger is on the screen. Only considers the first finger on the screen.
      *
@@ -84,51 +156,203 @@ public class GameInputProcessor
      * @return {@code true} if the user has met the conditions for a click
      */
     public boolean clickOccurred() {
-        return mFingerJustReleased && TimeUtils.timeSinceMillis(mFingerDownTime) < MAXIMUM_CLICK_HOLD_THRESHOLD
+        return mFingerJustReleased && mFingerUpTime - mFingerDownTime < MAXIMUM_CLICK_HOLD_THRESHOLD
                 && Math.abs(mLastFingerX - mFingerDownX) < MAXIMUM_CLICK_MOVE_THRESHOLD
                 && Math.abs(mLastFingerY - mFingerDownY) < MAXIMUM_CLICK_MOVE_THRESHOLD;
     }
 
     /**
      * Calculates the velocity of the user's finger movements using the last {@code MAXIMUM_FINGER_HISTORY} positions.
+     * The velocity is the slope of a least-squares line fit through the positions over time, so a single noisy sample
+     * has less effect than when only the first and last positions are used.
      *
      * @return the velocity of the user's finger movements
      */
     public Vector2 calculateFingerDragVelocity() {
-        if (mFingerHistory.size() == 0) {
-            mFingerDragVelocity.set(0, 0);
+        return fitFingerVelocity(mFingerDragVelocity);
+    }
+
+    /**
+     * Fits a least-squares line through the finger history to find the velocity of the finger.
+     *
+     * @param velocity vector to store the velocity in, in pixels per second, with y increasing up the screen
+     * @return {@code velocity}
+     */
+    private Vector2 fitFingerVelocity(Vector2 velocity) {
+        if (mFingerHistorySize < 2) {
+            velocity.set(0, 0);
+            return velocity;
+        }
+
+        // Times are taken relative to the most recent location to keep them small enough for a float
+        final int first = mFingerHistoryEnd - mFingerHistorySize + MAXIMUM_FINGER_HISTORY;
+        final long latestTime = mFingerHistoryTime[(mFingerHistoryEnd - 1 + MAXIMUM_FINGER_HISTORY)
+                % MAXIMUM_FINGER_HISTORY];
+        float meanTime = 0;
+        float meanX = 0;
+        float meanY = 0;
+        for (int i = 0; i < mFingerHistorySize; i++) {
+            final int index = (first + i) % MAXIMUM_FINGER_HISTORY;
+            meanTime += mFingerHistoryTime[index] - latestTime;
+            meanX += mFingerHistoryX[index];
+            meanY += mFingerHistoryY[index];
+        }
+        meanTime /= mFingerHistorySize;
+        meanX /= mFingerHistorySize;
+        meanY /= mFingerHistorySize;
+
+        float timeVariance = 0;
+        float xCovariance = 0;
+        float yCovariance = 0;
+        for (int i = 0; i < mFingerHistorySize; i++) {
+            final int index = (first + i) % MAXIMUM_FINGER_HISTORY;
+            final float time = mFingerHistoryTime[index] - latestTime - meanTime;
+            timeVariance += time * time;
+            xCovariance += time * (mFingerHistoryX[index] - meanX);
+            yCovariance += time * (mFingerHistoryY[index] - meanY);
+        }
+
+        if (timeVariance == 0) {
+            // Every location was recorded at the same time, so no velocity can be determined
+            velocity.set(0, 0);
         } else {
-            int totalXDistance = mFingerHistory.getLast().getFirst() - mFingerHistory.getFirst().getFirst();
-            int totalYDistance = mFingerHistory.getLast().getSecond() - mFingerHistory.getFirst().getSecond();
-            float elapsedTime = mFingerHistory.getLast().getThird() - mFingerHistory.getFirst().getThird();
-            mFingerDragVelocity.set(totalXDistance / elapsedTime * FINGER_VELOCITY_SCALE,
-                    -totalYDistance / elapsedTime * FINGER_VELOCITY_SCALE);
+            velocity.set(xCovariance / timeVariance * FINGER_VELOCITY_SCALE,
+                    -yCovariance / timeVariance * FINGER_VELOCITY_SCALE);
+        }
+
+        return velocity;
+    }
+
+    /**
+     * Adds a location to the finger history, replacing the oldest location if the history is full.
+     *
+     * @param x x location of the finger
+     * @param y y location of the finger
+     * @param time time in nanoseconds the finger was at the location
+     */
+    private void addFingerHistory(int x, int y, long time) {
+        mFingerHistoryX[mFingerHistoryEnd] = x;
+        mFingerHistoryY[mFingerHistoryEnd] = y;
+        mFingerHistoryTime[mFingerHistoryEnd] = time;
+        mFingerHistoryEnd = (mFingerHistoryEnd + 1) % MAXIMUM_FINGER_HISTORY;
+        mFingerHistorySize = Math.min(mFingerHistorySize + 1, MAXIMUM_FINGER_HISTORY);
+    }
+
+    /**
+     * Replays queued touch events, in the order they occurred, which happened at or before {@code time}.
+     *
+     * @param time latest time in nanoseconds of events to replay
+     */
+    public void processEvents(long time) {
+        while (mEventQueueSize > 0 && mEventTime[mEventQueueStart] <= time)
+            processOldestEvent();
+        updatePredictedFinger();
+    }
+
+    /**
+     * Removes the oldest event from the queue and updates the state of the finger to match it.
+     */
+    private void processOldestEvent() {
+        final int index = mEventQueueStart;
+        final int x = mEventX[index];
+        final int y = mEventY[index];
+        final long time = mEventTime[index];
+        mEventQueueStart = (mEventQueueStart + 1) % EVENT_QUEUE_CAPACITY;
+        mEventQueueSize--;
+
+        switch (mEventType[index]) {
+            case EVENT_TOUCH_DOWN:
+                mFingerHistorySize = 0;
+                mFingerDownX = x;
+                mFingerDownY = y;
+                mFingerDown = true;
+                mFingerDownTime = time;
+                break;
+            case EVENT_TOUCH_UP:
+                mFingerDown = false;
+                mFingerJustReleased = true;
+                mFingerUpTime = time;
+                break;
+            case EVENT_TOUCH_DRAGGED:
+                break;
+            default:
+                throw new IllegalStateException("invalid touch event.");
         }
 
-        return mFingerDragVelocity;
+        mLastFingerX = x;
+        mLastFingerY = y;
+        addFingerHistory(x, y, time);
+    }
+
+    /**
+     * Predicts the location of the finger by extending its current velocity a short time past the last touch event.
+     */
+    private void updatePredictedFinger() {
+        mPredictedFingerX = mLastFingerX;
+        mPredictedFingerY = mLastFingerY;
+        if (!mDragPredictionEnabled || !mFingerDown || mFingerHistorySize == 0)
+            return;
+
+        final long lastTime = mFingerHistoryTime[(mFingerHistoryEnd - 1 + MAXIMUM_FINGER_HISTORY)
+                % MAXIMUM_FINGER_HISTORY];
+        if (TimeUtils.nanoTime() - lastTime > DRAG_PREDICTION_TIMEOUT)
+            return;
+
+        fitFingerVelocity(mFingerDragVelocity);
+        mPredictedFingerX += mFingerDragVelocity.x * DRAG_PREDICTION_TIME;
+        mPredictedFingerY -= mFingerDragVelocity.y * DRAG_PREDICTION_TIME;
     }
 
     /**
-     * Updates input objects.
+     * Updates input objects. Should be called at the end of every tick.
      */
     public void tick() {
         mFingerJustReleased = false;
     }
 
+    /**
+     * Adds a touch event to the queue to be replayed by {@code processEvents()}. If the queue is full, the oldest
+     * event is replayed immediately to make room.
+     *
+     * @param type type of the event
+     * @param x x location of the event
+     * @param y y location of the event
+     */
+    private void queueEvent(int type, int x, int y) {
+        if (mEventQueueSize == EVENT_QUEUE_CAPACITY)
+            processOldestEvent();
+
+        final int index = (mEventQueueStart + mEventQueueSize) % EVENT_QUEUE_CAPACITY;
+        mEventType[index] = type;
+        mEventX[index] = x;
+        mEventY[index] = y;
+        mEventTime[index] = getCurrentEventTime();
+        mEventQueueSize++;
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Gets the time at which the backend captured the touch event being handled. Events are only dispatched at the
+     * start of a frame, so the time they are dispatched would place every event of a frame in its last tick.
+     *
+     * @return time in nanoseconds the event occurred, on the same clock as {@code TimeUtils.nanoTime()}
+     */
+    private static long getCurrentEventTime() {
+        final long now = TimeUtils.nanoTime();
+        final long eventTime = Gdx.input.getCurrentEventTime();
+
+        // Backends which do not record when events occur report 0
+        return (eventTime <= 0 || eventTime > now)
+                ? now
+                : eventTime;
+    }
+
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
         if (pointer > 0)
             return false;
 
-        mFingerHistory.clear();
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        mFingerDownX = screenX;
-        mFingerDownY = screenY;
-        mFingerDown = true;
-
-        mFingerDownTime = TimeUtils.millis();
-        mFingerHistory.add(Triplet.create(mLastFingerX, mLastFingerY, mFingerDownTime));
+        queueEvent(EVENT_TOUCH_DOWN, screenX, screenY);
         return true;
     }
 
@@ -137,12 +361,7 @@ public class GameInputProcessor
         if (pointer > 0)
             return false;
 
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        mFingerDown = false;
-        mFingerJustReleased = true;
-
-        mFingerHistory.add(Triplet.create(screenX, screenY, TimeUtils.millis()));
+        queueEvent(EVENT_TOUCH_UP, screenX, screenY);
         return true;
     }
 
@@ -151,11 +370,7 @@ public class GameInputProcessor
         if (pointer > 0)
             return false;
 
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        while (mFingerHistory.size() >= MAXIMUM_FINGER_HISTORY)
-            mFingerHistory.removeFirst();
-        mFingerHistory.add(Triplet.create(screenX, screenY, TimeUtils.millis()));
+        queueEvent(EVENT_TOUCH_DRAGGED, screenX, screenY);
         return true;
     }
 
@@ -1,7 +1,9 @@
 package ca.josephroque.swip.manager;
 
+import ca.josephroque.swip.render.RenderQueue;
 import ca.josephroque.swip.screen.GameScreen;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * Manages drawing of backgrounds.
@@ -14,6 +16,8 @@ public class BackgroundManager {
 
     /** Size of a single background panel relative to the size of the screen. */
     private static final float BACKGROUND_SIZE_MULTIPLIER = 0.15f;
+    /** Number of floats {@code SpriteBatch} uses to describe a single panel (4 vertices of x, y, color, u, v). */
+    private static final int VERTICES_PER_PANEL = 20;
 
     /** The current background, chosen by the user. */
     private TextureManager.Background mCurrentBackground;
@@ -28,6 +32,11 @@ public class BackgroundManager {
     /** Number of background panel rows. */
     private int mBackgroundRows = 0;
 
+    /** Vertices for every panel of the background, in the format expected by {@code SpriteBatch}. */
+    private float[] mBackgroundVertices = new float[0];
+    /** Number of values in {@code mBackgroundVertices} which describe the current grid. */
+    private int mBackgroundVertexCount = 0;
+
     /**
      * Sets up properties of background textures.
      *
@@ -40,20 +49,29 @@ public class BackgroundManager {
     }
 
     /**
-     * Draws the background panels to fill the background of the screen.
+     * Submits the background panels to fill the background of the screen. The panels are submitted as a single set of
+     * vertices, which are only rebuilt when the background or screen size changes.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the panels to
      */
-    public void draw(SpriteBatch spriteBatch) {
-        for (int x = 0; x < mBackgroundColumns; x++) {
-            for (int y = 0; y < mBackgroundRows; y++) {
-                spriteBatch.draw(mTextureManager.getBackgroundTexture(mCurrentBackground),
-                        x * mBackgroundSize,
-                        y * mBackgroundSize,
-                        mBackgroundSize,
-                        mBackgroundSize);
-            }
-        }
+    public void draw(RenderQueue renderQueue) {
+        if (mBackgroundVertexCount == 0)
+            return;
+
+        renderQueue.draw(RenderQueue.Layer.Background,
+                mTextureManager.getBackgroundTexture(mCurrentBackground).getTexture(),
+                mBackgroundVertices,
+                0,
+                mBackgroundVertexCount);
+    }
+
+    /**
+     * Checks if the background panels cover every pixel of the screen, so it does not need to be cleared first.
+     *
+     * @return {@code true} if the background covers the screen
+     */
+    public boolean coversScreen() {
+        return mBackgroundVertexCount > 0;
     }
 
     /**
@@ -63,6 +81,62 @@ public class BackgroundManager {
      */
     public void setBackground(TextureManager.Background bg) {
         mCurrentBackground = bg;
+        buildBackgroundVertices();
+    }
+
+    /**
+     * Fills {@code mBackgroundVertices} with a panel for each column and row of the background grid.
+     */
+    private void buildBackgroundVertices() {
+        if (mCurrentBackground == null)
+            return;
+
+        mBackgroundVertexCount = mBackgroundColumns * mBackgroundRows * VERTICES_PER_PANEL;
+        if (mBackgroundVertices.length < mBackgroundVertexCount)
+            mBackgroundVertices = new float[mBackgroundVertexCount];
+
+        final TextureRegion region = mTextureManager.getBackgroundTexture(mCurrentBackground);
+        final float color = Color.WHITE.toFloatBits();
+        final float u = region.getU();
+        final float v = region.getV();
+        final float u2 = region.getU2();
+        final float v2 = region.getV2();
+
+        int idx = 0;
+        for (int x = 0; x < mBackgroundColumns; x++) {
+            for (int y = 0; y < mBackgroundRows; y++) {
+                final float left = x * mBackgroundSize;
+                final float bottom = y * mBackgroundSize;
+                final float right = left + mBackgroundSize;
+                final float top = bottom + mBackgroundSize;
+
+                idx = putVertex(mBackgroundVertices, idx, left, bottom, color, u, v2);
+                idx = putVertex(mBackgroundVertices, idx, left, top, color, u, v);
+                idx = putVertex(mBackgroundVertices, idx, right, top, color, u2, v);
+                idx = putVertex(mBackgroundVertices, idx, right, bottom, color, u2, v2);
+            }
+        }
+    }
+
+    /**
+     * Writes a single vertex to {@code vertices}.
+     *
+     * @param vertices array to write to
+     * @param idx position in {@code vertices} to write at
+     * @param x horizontal position of the vertex
+     * @param y vertical position of the vertex
+     * @param color packed color of the vertex
+     * @param u horizontal texture coordinate
+     * @param v vertical texture coordinate
+     * @return the position in {@code vertices} after the vertex
+     */
+    private static int putVertex(float[] vertices, int idx, float x, float y, float color, float u, float v) {
+        vertices[idx++] = x;
+        vertices[idx++] = y;
+        vertices[idx++] = color;
+        vertices[idx++] = u;
+        vertices[idx++] = v;
+        return idx;
     }
 
     /**
@@ -73,8 +147,10 @@ public class BackgroundManager {
      */
     public void resize(int width, int height) {
         mBackgroundSize = Math.min(width, height) * BACKGROUND_SIZE_MULTIPLIER;
-        mBackgroundColumns = (int) (width / mBackgroundSize);
-        mBackgroundRows = (int) (height / mBackgroundSize);
+        // Partial panels past the edges of the screen are included, so the grid always covers the screen
+        mBackgroundColumns = (int) Math.ceil(width / mBackgroundSize);
+        mBackgroundRows = (int) Math.ceil(height / mBackgroundSize);
+        buildBackgroundVertices();
     }
 
     /**
@@ -1,32 +1,124 @@
 package ca.josephroque.swip.manager;
 
-import com.badlogic.gdx.Gdx;
+import ca.josephroque.swip.assets.DistanceFieldFontLoader;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 
 /**
- * Manages font loading and unloading.
+ * Manages font loading and unloading. Fonts are baked ahead of time into signed distance fields by {@code
+ * DistanceFieldFontGenerator}, so a single glyph page draws text crisply at any size. Text must be drawn between
+ * calls to {@code beginText()} and {@code endText()}, which switch to the shader that reconstructs glyph edges.
  */
 public final class FontManager {
 
-    private static BitmapFont sFontKenney;
+    /** Path of the baked default font. */
+    private static final String DEFAULT_FONT_FILE = "font/KenVectorFutureThin.fnt";
+    /** Used to determine the height of a line of text as a percentage of the screen size. */
+    private static final float TEXT_SIZE_MULTIPLIER = 0.045f;
 
-    public static void initialize() {
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("font/KenVectorFutureThin.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = 16;
-        parameter.color = Color.BLACK;
-        sFontKenney = generator.generateFont(parameter);
-        generator.dispose();
+    /** Default font of the application. */
+    private static DistanceFieldFont sFontKenney;
+    /** Height of a line of the default font at the size it was baked, in pixels. */
+    private static float sFontKenneyBakedSize;
+    /** Height of a line of text drawn with the default font on the current screen, in pixels. */
+    private static float sDefaultTextSize;
+    /** Shader which draws distance field glyphs. */
+    private static ShaderProgram sDistanceFieldShader;
+
+    /**
+     * Queues the fonts for the application to be loaded by {@code assetManager}.
+     *
+     * @param assetManager asset manager to load the fonts
+     */
+    public static void queueAssets(AssetManager assetManager) {
+        assetManager.setLoader(DistanceFieldFont.class, new DistanceFieldFontLoader(new InternalFileHandleResolver()));
+        assetManager.load(DEFAULT_FONT_FILE, DistanceFieldFont.class);
     }
 
+    /**
+     * Prepares the fonts for the application, sized relative to the screen. Must be called on the rendering thread,
+     * since the distance field shader is compiled here.
+     *
+     * @param assetManager asset manager which has finished loading the assets queued by {@code queueAssets()}
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @throws IllegalStateException if the distance field shader cannot be compiled
+     */
+    public static void initialize(AssetManager assetManager, int screenWidth, int screenHeight) {
+        sFontKenney = assetManager.get(DEFAULT_FONT_FILE, DistanceFieldFont.class);
+        sFontKenney.setColor(Color.BLACK);
+        sFontKenneyBakedSize = sFontKenney.getLineHeight() / sFontKenney.getScaleY();
+
+        try {
+            sDistanceFieldShader = DistanceFieldFont.createDistanceFieldShader();
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+
+        sDefaultTextSize = Math.min(screenWidth, screenHeight) * TEXT_SIZE_MULTIPLIER;
+        setTextSize(sDefaultTextSize);
+    }
+
+    /**
+     * Gets the default font of the application.
+     *
+     * @return the default font
+     */
     public static BitmapFont getDefaultFont() {
         return sFontKenney;
     }
 
+    /**
+     * Gets the height of a line of text drawn with the default font on the current screen. The distance field font
+     * is drawn crisply at any size, so text is sized relative to the screen, like the game's sprites.
+     *
+     * @return height of a line of text, in pixels
+     */
+    public static float getDefaultTextSize() {
+        return sDefaultTextSize;
+    }
+
+    /**
+     * Scales the default font so its lines are {@code size} pixels tall.
+     *
+     * @param size height of a line of text, in pixels
+     */
+    public static void setTextSize(float size) {
+        sFontKenney.getData().setScale(size / sFontKenneyBakedSize);
+    }
+
+    /**
+     * Switches {@code spriteBatch} to the distance field shader, so text can be drawn. Flushes any pending sprites.
+     *
+     * @param spriteBatch graphics context to draw text to
+     */
+    public static void beginText(SpriteBatch spriteBatch) {
+        spriteBatch.setShader(sDistanceFieldShader);
+    }
+
+    /**
+     * Switches {@code spriteBatch} back to its default shader once text has been drawn. Flushes the text.
+     *
+     * @param spriteBatch graphics context text was drawn to
+     */
+    public static void endText(SpriteBatch spriteBatch) {
+        spriteBatch.setShader(null);
+    }
+
+    /**
+     * Frees the distance field shader and references to fonts. The fonts are disposed by the asset manager which
+     * loaded them.
+     */
     public static void dispose() {
-        sFontKenney.dispose();
+        if (sDistanceFieldShader != null)
+            sDistanceFieldShader.dispose();
+        sDistanceFieldShader = null;
+        sFontKenney = null;
     }
 
     /**
@@ -5,8 +5,10 @@ import ca.josephroque.swip.entity.Button;
 import ca.josephroque.swip.entity.GameBall;
 import ca.josephroque.swip.entity.Wall;
 import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.render.RenderQueue;
 import ca.josephroque.swip.screen.GameScreen;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.text.NumberText;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import java.util.Random;
@@ -47,10 +49,14 @@ public class GameManager {
     /** The countdown item which was active in the last frame. */
     private GameCountdown mLastCountdownItem;
 
-    /** The ball being used by the game. */
+    /** The ball being used by the game, or {@code null} before the first turn. */
     private GameBall mCurrentGameBall;
+    /** Ball which is reset at the start of each turn, so turns do not create new objects. */
+    private GameBall mPooledGameBall;
     /** Button to pause the game. */
     private Button mPauseButton;
+    /** Displays the player's score. */
+    private NumberText mScoreText;
     /** The four main walls in the gam. */
     private Wall[] mPrimaryWalls;
     /** Four walls which switch places with the primary walls. */
@@ -116,6 +122,7 @@ public class GameManager {
 
         final float pauseButtonSize = Math.min(GameScreen.getScreenWidth(), GameScreen.getScreenHeight())
                 * PAUSE_BUTTON_SCALE;
+        mScoreText = new NumberText(FontManager.getDefaultFont());
         mPauseButton = new Button(mTextureManager.getSystemIconTexture(TextureManager.SystemIcon.Pause),
                 0,
                 GameScreen.getScreenHeight() - pauseButtonSize,
@@ -166,11 +173,6 @@ public class GameManager {
                 replaceWallsAndBall(countdownItem);
             }
             mLastCountdownItem = countdownItem;
-
-            if (mPauseButton.wasClicked(gameInput)) {
-                if (mGameCallback != null)
-                    mGameCallback.pauseGame();
-            }
         }
 
         for (Wall wall : mPrimaryWalls)
@@ -192,6 +194,7 @@ public class GameManager {
      */
     private void tickGamePlaying(GameInputProcessor gameInput, float delta) {
         mTurnDuration += delta;
+        mCurrentGameBall.storePreviousPosition();
 
         if (mTurnDuration >= mTurnLength) {
             endGame();
@@ -228,41 +231,53 @@ public class GameManager {
     }
 
     /**
-     * Draws the game to the screen.
+     * Submits the game to be drawn.
      *
      * @param gameState the current state of the application
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the game to
+     * @param interpolation fraction of a tick which has passed since the last tick
      */
-    public void draw(GameScreen.GameState gameState, SpriteBatch spriteBatch) {
+    public void draw(GameScreen.GameState gameState, RenderQueue renderQueue, float interpolation) {
+        // Objects are drawn where the last tick left them in states which do not move them, rather than swaying
+        // between their last two positions as time accumulates
+        final float ballInterpolation = (gameState == GameScreen.GameState.GamePlaying)
+                ? interpolation
+                : 1f;
+        final float wallInterpolation = (gameState == GameScreen.GameState.GamePlaying
+                || gameState == GameScreen.GameState.GameStarting)
+                ? interpolation
+                : 1f;
+
         if (mCurrentGameBall != null)
-            mCurrentGameBall.draw(spriteBatch, mTextureManager, mTurnLength, mTurnDuration);
+            mCurrentGameBall.draw(renderQueue, mTextureManager, ballInterpolation, mTurnLength, mTurnDuration);
         for (Wall wall : mPrimaryWalls)
-            wall.draw(spriteBatch, mTextureManager);
+            wall.draw(renderQueue, mTextureManager, wallInterpolation, false);
         if (mDrawSecondaryWalls) {
             for (Wall wall : mSecondaryWalls)
-                wall.draw(spriteBatch, mTextureManager);
+                wall.draw(renderQueue, mTextureManager, wallInterpolation, true);
         }
 
         switch (gameState) {
             case GamePlaying:
-                FontManager.getDefaultFont()
-                        .draw(spriteBatch,
-                                Integer.toString(mTotalTurns),
-                                mPauseButton.getX() + mPauseButton.getWidth(),
-                                GameScreen.getScreenHeight() - 50);
-                mPauseButton.draw(spriteBatch);
+                mScoreText.setValue(mTotalTurns);
+                mScoreText.setPosition(mPauseButton.getX() + mPauseButton.getWidth(),
+                        GameScreen.getScreenHeight() - 50);
+                renderQueue.draw(RenderQueue.Layer.Text, mScoreText);
+                mPauseButton.draw(renderQueue);
                 break;
             case GameStarting:
-                mPauseButton.draw(spriteBatch);
+                mPauseButton.draw(renderQueue);
                 float countdownPosition = mGameCountdown / TIME_UNTIL_GAME_STARTS;
                 TextureRegion countdownIcon
                         = mTextureManager.getCountdownTexture(GameCountdown.getCountdownItem(countdownPosition));
                 float sizeRatio = countdownIcon.getRegionWidth() / (float) countdownIcon.getRegionHeight();
-                spriteBatch.draw(countdownIcon,
+                renderQueue.draw(RenderQueue.Layer.Icons,
+                        countdownIcon,
                         GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * sizeRatio,
                         GameScreen.getScreenHeight() / 2 - BasicBall.getDefaultBallRadius(),
                         BasicBall.getDefaultBallRadius() * 2 * sizeRatio,
-                        BasicBall.getDefaultBallRadius() * 2);
+                        BasicBall.getDefaultBallRadius() * 2,
+                        Color.WHITE);
                 break;
             default:
                 // does nothing - no more to draw
@@ -323,21 +338,31 @@ public class GameManager {
         // Generating new ball at center of screen
         mDrawSecondaryWalls = true;
         final int randomWall;
-        final boolean[] passableWalls = new boolean[Wall.NUMBER_OF_WALLS];
+        int passableWalls;
         if (wallPairFirstIndex == -1) {
             randomWall = mRandomNumberGenerator.nextInt(Wall.NUMBER_OF_WALLS);
-            passableWalls[randomWall] = true;
+            passableWalls = 1 << randomWall;
         } else {
             randomWall = wallPairFirstIndex;
-            passableWalls[randomWall] = true;
-            for (int i = randomWall + 1; i < Wall.NUMBER_OF_WALLS; i++)
-                passableWalls[i] = mWallColors[randomWall].equals(mWallColors[i]);
+            passableWalls = 1 << randomWall;
+            for (int i = randomWall + 1; i < Wall.NUMBER_OF_WALLS; i++) {
+                if (mWallColors[randomWall] == mWallColors[i])
+                    passableWalls |= 1 << i;
+            }
         }
 
-        mCurrentGameBall = new GameBall(mWallColors[randomWall],
-                passableWalls,
-                GameScreen.getScreenWidth() / 2,
-                GameScreen.getScreenHeight() / 2);
+        if (mPooledGameBall == null) {
+            mPooledGameBall = new GameBall(mWallColors[randomWall],
+                    passableWalls,
+                    GameScreen.getScreenWidth() / 2,
+                    GameScreen.getScreenHeight() / 2);
+        } else {
+            mPooledGameBall.reset(mWallColors[randomWall],
+                    passableWalls,
+                    GameScreen.getScreenWidth() / 2,
+                    GameScreen.getScreenHeight() / 2);
+        }
+        mCurrentGameBall = mPooledGameBall;
         mCurrentGameBall.grow();
     }
 
@@ -378,8 +403,8 @@ public class GameManager {
             wall.resize(screenWidth, screenHeight);
         for (Wall wall : mSecondaryWalls)
             wall.resize(screenWidth, screenHeight);
-        if (mCurrentGameBall != null)
-            mCurrentGameBall.resize(screenWidth, screenHeight);
+        if (mPooledGameBall != null)
+            mPooledGameBall.resize(screenWidth, screenHeight);
     }
 
     /**
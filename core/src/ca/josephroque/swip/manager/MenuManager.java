@@ -3,8 +3,9 @@ package ca.josephroque.swip.manager;
 import ca.josephroque.swip.entity.BasicBall;
 import ca.josephroque.swip.entity.ButtonBall;
 import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.render.RenderQueue;
 import ca.josephroque.swip.screen.GameScreen;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import ca.josephroque.swip.text.StaticText;
 
 /**
  * Manages menu objects and rendering them to the screen.
@@ -22,6 +23,8 @@ public class MenuManager {
 
     /** Buttons for menu options. */
     private ButtonBall[] mMenuOptionBalls;
+    /** Prompts the player to start a game. */
+    private StaticText mStartPromptText;
 
     /** When a button ball finishes shrinking, this causes the opposing option to grow in its place. */
     @SuppressWarnings("FieldCanBeLocal")
@@ -74,29 +77,27 @@ public class MenuManager {
         mMenuOptionBalls[MenuBallOption.MusicOn.ordinal()]
                 = new ButtonBall(MenuBallOption.MusicOn,
                 TextureManager.GameColor.Green,
-                textureManager.getMenuButtonIconTexture(MenuBallOption.MusicOn),
                 GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.MusicOff.ordinal()]
                 = new ButtonBall(MenuBallOption.MusicOff,
                 TextureManager.GameColor.Red,
-                textureManager.getMenuButtonIconTexture(MenuBallOption.MusicOff),
                 GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.SoundEffectsOn.ordinal()]
                 = new ButtonBall(MenuBallOption.SoundEffectsOn,
                 TextureManager.GameColor.Green,
-                textureManager.getMenuButtonIconTexture(MenuBallOption.SoundEffectsOn),
                 GameScreen.getScreenWidth() / 2 + BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.SoundEffectsOff.ordinal()]
                 = new ButtonBall(MenuBallOption.SoundEffectsOff,
                 TextureManager.GameColor.Red,
-                textureManager.getMenuButtonIconTexture(MenuBallOption.SoundEffectsOff),
                 GameScreen.getScreenWidth() / 2 + BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         for (ButtonBall ball : mMenuOptionBalls)
             ball.setScalingCompleteListener(mMenuOptionBallsListener);
+
+        mStartPromptText = new StaticText(FontManager.getDefaultFont(), "Tap to begin");
     }
 
     /**
@@ -159,17 +160,31 @@ public class MenuManager {
     }
 
     /**
-     * Draws the menu to the screen.
+     * Submits the menu to be drawn.
      *
      * @param gameState the current state of the application
-     * @param spriteBatch graphics context to draw to
+     * @param renderQueue queue to submit the menu to
      */
-    public void draw(GameScreen.GameState gameState, SpriteBatch spriteBatch) {
+    public void draw(GameScreen.GameState gameState, RenderQueue renderQueue) {
         for (ButtonBall option : mMenuOptionBalls)
-            option.draw(spriteBatch, mTextureManager);
+            option.draw(renderQueue, mTextureManager);
+
+        mStartPromptText.setPosition(GameScreen.getScreenWidth() / 2, GameScreen.getScreenHeight() / 2);
+        renderQueue.draw(RenderQueue.Layer.Text, mStartPromptText);
+    }
+
+    /**
+     * Checks if any of the menu items are animating.
+     *
+     * @return {@code true} if the menu must continue to be updated for its appearance to change
+     */
+    public boolean isAnimating() {
+        for (ButtonBall option : mMenuOptionBalls) {
+            if (option.isAnimating())
+                return true;
+        }
 
-        FontManager.getDefaultFont()
-                .draw(spriteBatch, "Tap to begin", GameScreen.getScreenWidth() / 2, GameScreen.getScreenHeight() / 2);
+        return false;
     }
 
     /**
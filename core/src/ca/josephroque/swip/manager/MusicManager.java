@@ -3,6 +3,7 @@ package ca.josephroque.swip.manager;
 import ca.josephroque.swip.util.PreferenceUtils;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 
@@ -23,6 +24,9 @@ public final class MusicManager {
     /** Number of seconds a song will take to fade out or in. */
     private static final float FADE_SPEED = 1f;
 
+    /** Loads and owns the music and sound effects. */
+    private static AssetManager sAssetManager;
+
     /** Primary background music for the application. */
     private static Music sBackgroundMusic;
 
@@ -30,8 +34,8 @@ public final class MusicManager {
     private static BackgroundTrack sCurrentBackgroundTrack;
     /** The background track to be played next. */
     private static BackgroundTrack sNextBackgroundTrack;
-    /** Number of seconds that a song has been fading for. */
-    private static float sFadeTime = 1f;
+    /** Number of seconds that a song has been fading for. Rests at the end of the fade out and back in. */
+    private static float sFadeTime = FADE_SPEED * 2;
 
     /** Indicates if music playback has been enabled or disabled. */
     private static boolean sMusicEnabled;
@@ -42,11 +46,26 @@ public final class MusicManager {
     private static Sound[] sSoundEffects = new Sound[SoundEffect.getSize()];
 
     /**
-     * Loads background music and sound effects for the game.
+     * Queues the initial background music and the sound effects for the game to be loaded by {@code assetManager}.
      *
+     * @param assetManager asset manager to load the audio
      * @param initialBackgroundTrack initial background song to load
      */
-    public static void initialize(BackgroundTrack initialBackgroundTrack) {
+    public static void queueAssets(AssetManager assetManager, BackgroundTrack initialBackgroundTrack) {
+        assetManager.load(getBackgroundMusicPath(initialBackgroundTrack), Music.class);
+        for (SoundEffect sound : SoundEffect.values())
+            assetManager.load(getSoundPath(sound), Sound.class);
+    }
+
+    /**
+     * Prepares background music and sound effects for the game.
+     *
+     * @param assetManager asset manager which has finished loading the assets queued by {@code queueAssets()}
+     * @param initialBackgroundTrack initial background song, which must match the track given to {@code
+     * queueAssets()}
+     */
+    public static void initialize(AssetManager assetManager, BackgroundTrack initialBackgroundTrack) {
+        sAssetManager = assetManager;
         sBackgroundMusic = loadBackgroundMusic(initialBackgroundTrack);
         sCurrentBackgroundTrack = initialBackgroundTrack;
 
@@ -57,7 +76,7 @@ public final class MusicManager {
         // Loading sounds
         SoundEffect[] soundEffects = SoundEffect.values();
         for (int i = 0; i < sSoundEffects.length; i++) {
-            sSoundEffects[i] = loadSound(soundEffects[i]);
+            sSoundEffects[i] = assetManager.get(getSoundPath(soundEffects[i]), Sound.class);
         }
     }
 
@@ -71,7 +90,7 @@ public final class MusicManager {
             sMusicEnabled = enabled;
 
             if (!enabled) {
-                sFadeTime = FADE_SPEED;
+                sFadeTime = FADE_SPEED * 2;
                 stopBackgroundMusic();
             }
 
@@ -141,7 +160,7 @@ public final class MusicManager {
         if (sCurrentBackgroundTrack != track) {
             if (sBackgroundMusic.isPlaying())
                 sBackgroundMusic.stop();
-            sBackgroundMusic.dispose();
+            sAssetManager.unload(getBackgroundMusicPath(sCurrentBackgroundTrack));
 
             sBackgroundMusic = loadBackgroundMusic(track);
             sCurrentBackgroundTrack = track;
@@ -214,16 +233,16 @@ public final class MusicManager {
                 sBackgroundMusic.setVolume((-sFadeTime + FADE_SPEED) / FADE_SPEED);
             } else {
                 if (sNextBackgroundTrack != null) {
+                    sBackgroundMusic.stop();
+                    sAssetManager.unload(getBackgroundMusicPath(sCurrentBackgroundTrack));
+
                     sCurrentBackgroundTrack = sNextBackgroundTrack;
                     sNextBackgroundTrack = null;
-
-                    sBackgroundMusic.stop();
-                    sBackgroundMusic.dispose();
                     sBackgroundMusic = loadBackgroundMusic(sCurrentBackgroundTrack);
                     sBackgroundMusic.setLooping(true);
                     sBackgroundMusic.play();
                 }
-                sBackgroundMusic.setVolume(sFadeTime / FADE_SPEED);
+                sBackgroundMusic.setVolume((sFadeTime - FADE_SPEED) / FADE_SPEED);
             }
             sFadeTime += delta;
         } else if (sBackgroundMusic.getVolume() < 1) {
@@ -232,34 +251,60 @@ public final class MusicManager {
     }
 
     /**
-     * Loads a single background music track from the game assets.
+     * Checks if the background music is currently fading between tracks, and so must continue to be updated.
+     *
+     * @return {@code true} if a fade is in progress
+     */
+    public static boolean isFading() {
+        return sMusicEnabled && sBackgroundMusic != null && sBackgroundMusic.isPlaying() && sFadeTime < FADE_SPEED * 2;
+    }
+
+    /**
+     * Gets a single background music track from the asset manager, loading it first if it has not been loaded.
      *
      * @param track track to load
      * @return the background music
      */
     private static Music loadBackgroundMusic(BackgroundTrack track) {
-        return Gdx.audio.newMusic(Gdx.files.internal("audio/bm/" + track + ".mp3"));
+        final String path = getBackgroundMusicPath(track);
+        if (!sAssetManager.isLoaded(path, Music.class)) {
+            sAssetManager.load(path, Music.class);
+            sAssetManager.finishLoadingAsset(path);
+        }
+        return sAssetManager.get(path, Music.class);
     }
 
     /**
-     * Loads a single sound effect from the game assets.
+     * Gets the path of a background music track in the game assets.
      *
-     * @param sound sound effect to load
-     * @return the sound effect
+     * @param track background music track
+     * @return path of the track
      */
-    private static Sound loadSound(SoundEffect sound) {
-        return Gdx.audio.newSound(Gdx.files.internal("audio/sfx/" + sound + ".wav"));
+    private static String getBackgroundMusicPath(BackgroundTrack track) {
+        return "audio/bm/" + track + ".mp3";
     }
 
     /**
-     * Frees resources from objects.
+     * Gets the path of a sound effect in the game assets.
+     *
+     * @param sound sound effect
+     * @return path of the sound effect
+     */
+    private static String getSoundPath(SoundEffect sound) {
+        return "audio/sfx/" + sound + ".wav";
+    }
+
+    /**
+     * Frees references to objects. The music and sound effects are disposed by the asset manager which loaded them.
      */
     public static void dispose() {
         if (sBackgroundMusic != null)
-            sBackgroundMusic.dispose();
+            sBackgroundMusic.stop();
+        sBackgroundMusic = null;
 
-        for (Sound sound : sSoundEffects)
-            sound.dispose();
+        for (int i = 0; i < sSoundEffects.length; i++)
+            sSoundEffects[i] = null;
+        sAssetManager = null;
     }
 
     /**
@@ -1,13 +1,21 @@
 package ca.josephroque.swip.manager;
 
+import ca.josephroque.swip.assets.ParallelTextureAtlasLoader;
+import ca.josephroque.swip.assets.RegionIndex;
 import ca.josephroque.swip.entity.Wall;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.PolygonRegion;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.BufferUtils;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.nio.IntBuffer;
+import java.util.Locale;
 
 /**
  * Retrieves textures for displaying games objects.
@@ -18,180 +26,209 @@ public final class TextureManager {
     @SuppressWarnings("unused")
     private static final String TAG = "TextureManager";
 
-    /** Primary texture for game objects. */
-    private Texture mGameTexture;
-    /** Primary texture for menu objects. */
-    private Texture mMenuTexture;
-    /** Primary texture for background panels. */
-    private Texture mBackgroundTexture;
-
-    /** A map from {@code Wall.Side} and {@code TextureManager.Color} values to texture regions. */
-    private HashMap<String, TextureRegion> mWallTextures;
-    /** A map from {@code TextureManager.Color} values to texture regions. */
-    private HashMap<String, TextureRegion> mBallTextures;
-    /** An array of texture regions of shadows to overlay balls as the timer progresses. */
-    private TextureRegion[] mBallOverlayTextures;
-    /** A map from {@code GameManager.GameCountdown} values to texture regions. */
-    private HashMap<String, TextureRegion> mGameCountdownTextures;
-    /** A map from {@code MenuManager.MenuBallOption} values to texture regions. */
-    private HashMap<String, TextureRegion> mMenuIcons;
-    /** A map from {@code TextureManager.SystemIcon} values to texture regions. */
-    private HashMap<String, TextureRegion> mSystemIcons;
-    /** A map from {@code TextureManager.Background} values to texture regions. */
-    private HashMap<String, TextureRegion> mBackgroundTextures;
+    /** Loads and owns the atlas of each group. */
+    private AssetManager mAssetManager;
+    /** Resolution of the atlases which are loaded. */
+    private Variant mVariant;
+    /** Position of the region for each slot of the {@code RegionIndex} within its group's atlas. */
+    private int[] mRegionPositions;
+    /** Every region the game draws, indexed by {@code RegionIndex} slot, or {@code null} if its group is unloaded. */
+    private TextureRegion[] mRegions;
+    /** Hull of each trimmed region from the {@code RegionIndex}, or {@code null} for regions which are not trimmed. */
+    private float[][] mHulls;
+    /**
+     * Each trimmed region, cut to its hull, indexed by {@code RegionIndex} slot, or {@code null} if the region is
+     * not trimmed or its group is unloaded.
+     */
+    private PolygonRegion[] mPolygons;
+
+    /** Number of wedges the ball overlay shadow was designed with. */
+    private static final int BALL_SHADOW_PARTS = 10;
+    /** Number of slanted edges on each wall. */
+    private static final int WALL_EDGES = RegionIndex.WALL_EDGES_PER_SIDE;
+    /** Index of the edge closest to the top of the original wall texture. */
+    private static final int TOP_EDGE = 0;
+    /** Index of the edge closest to the bottom of the original wall texture. */
+    private static final int BOTTOM_EDGE = 1;
+
+    /** Palette which walls and balls are currently tinted with. */
+    private Palette mPalette = Palette.Default;
 
     /** Potential colors of walls in the game. */
     public static final GameColor[] GAME_COLORS = GameColor.values();
 
     /**
-     * Loads textures for the application.
+     * Queues the textures for the application to be loaded by {@code assetManager}. Every page of each atlas is
+     * prepared at the same time by a {@code ParallelTextureAtlasLoader}, which also loads any atlas queued later, so
+     * the atlases of all the groups are prepared at the same time rather than one after another.
+     *
+     * @param assetManager asset manager to load the textures
+     * @param variant resolution of the atlases to load
+     * @param format format of the pages to load, from {@code TextureFormat.detect()}
+     * @param groups groups to load, as a bitmask of {@code TextureGroup.getMask()}
      */
-    public TextureManager() {
-        Gdx.app.debug(TAG, "Initializing");
-        mGameTexture = new Texture(Gdx.files.internal("game_spritesheet.png"));
-        mMenuTexture = new Texture(Gdx.files.internal("menu_spritesheet.png"));
-        mBackgroundTexture = new Texture(Gdx.files.internal("bg_spritesheet.png"));
-
-        prepareGameTextureRegions();
-        prepareMenuTextureRegions();
+    public static void queueAssets(AssetManager assetManager, Variant variant, TextureFormat format, int groups) {
+        assetManager.setLoader(TextureAtlas.class,
+                new ParallelTextureAtlasLoader(new InternalFileHandleResolver(), format));
+        for (TextureGroup group : TextureGroup.values()) {
+            if ((groups & group.getMask()) != 0)
+                queueAtlas(assetManager, group.getAtlasPath(variant));
+        }
     }
 
     /**
-     * Loads the textures for game objects.
+     * Queues an atlas to be loaded, and starts preparing its pages immediately rather than once the asset manager
+     * reaches it.
+     *
+     * @param assetManager asset manager to load the atlas, with a {@code ParallelTextureAtlasLoader}
+     * @param path path of the atlas within the assets
      */
-    private void prepareGameTextureRegions() {
-        mWallTextures = parseTextureProperties(mGameTexture, loadTextureProperties("walls.txt"));
-        mBallTextures = parseTextureProperties(mGameTexture, loadTextureProperties("balls.txt"));
-        mBallOverlayTextures = parseTexturePropertiesArray(mGameTexture, "ball_overlays.txt");
-        mGameCountdownTextures = parseTextureProperties(mMenuTexture, loadTextureProperties("countdown.txt"));
-        mBackgroundTextures = parseTextureProperties(mBackgroundTexture, loadTextureProperties("backgrounds.txt"));
+    private static void queueAtlas(AssetManager assetManager, String path) {
+        final boolean loaded = assetManager.isLoaded(path, TextureAtlas.class);
+        assetManager.load(path, TextureAtlas.class);
+        if (!loaded)
+            ((ParallelTextureAtlasLoader) assetManager.getLoader(TextureAtlas.class)).preparePages(path, null);
     }
 
     /**
-     * Loads the textures for menu objects.
+     * Prepares textures for the application. Every region is resolved from the index written when the atlases were
+     * packed, so that no lookups by name are necessary. Regions of groups which have already been loaded are
+     * resolved immediately, and other groups must be resolved with {@code loadGroup()} once loaded.
+     *
+     * @param assetManager asset manager which loads the atlas of each group
+     * @param variant resolution of the atlases, which must match the variant given to {@code queueAssets()}
+     * @throws IllegalStateException if the region index does not match the atlases or this version of the game
      */
-    private void prepareMenuTextureRegions() {
-        mMenuIcons = parseTextureProperties(mMenuTexture, loadTextureProperties("menu.txt"));
-        mSystemIcons = parseTextureProperties(mMenuTexture, loadTextureProperties("system.txt"));
+    public TextureManager(AssetManager assetManager, Variant variant) {
+        Gdx.app.debug(TAG, "Initializing " + variant);
+        mAssetManager = assetManager;
+        mVariant = variant;
+        mHulls = new float[RegionIndex.SIZE][];
+        mRegionPositions = RegionIndex.read(Gdx.files.internal(RegionIndex.getPath(variant)), mHulls);
+        mRegions = new TextureRegion[RegionIndex.SIZE];
+        mPolygons = new PolygonRegion[RegionIndex.SIZE];
+
+        for (TextureGroup group : TextureGroup.values()) {
+            if (assetManager.isLoaded(getAtlasPath(group), TextureAtlas.class))
+                loadGroup(group);
+        }
     }
 
     /**
-     * Creates a {@code HashMap} of {@code TextureRegion} objects by using {@code properties} and {@code texture} to
-     * create the instances, then mapping them to the keys provided in {@code properties}.
+     * Gets the path of the atlas of a group, in the resolution this manager loads.
      *
-     * @param texture texture source for {@code TextureRegion}
-     * @param properties properties to create {@code TextureRegion}
-     * @return a mapping from the keys in {@code properties} to a new set of {@code TextureRegion} objects
+     * @param group group of textures
+     * @return path of the atlas within the assets
      */
-    private static HashMap<String, TextureRegion> parseTextureProperties(
-            Texture texture,
-            HashMap<String, TextureProperties> properties) {
-        HashMap<String, TextureRegion> textureRegions = new HashMap<>();
-        for (String key : properties.keySet()) {
-            TextureProperties textureProperties = properties.get(key);
-            TextureRegion region = new TextureRegion(texture,
-                    textureProperties.mX,
-                    textureProperties.mY,
-                    textureProperties.mWidth,
-                    textureProperties.mHeight);
-            textureRegions.put(key, region);
-        }
+    String getAtlasPath(TextureGroup group) {
+        return group.getAtlasPath(mVariant);
+    }
 
-        return textureRegions;
+    /**
+     * Queues the atlas of a group to be loaded in the background. Its regions must be resolved with
+     * {@code loadGroup()} once it has loaded.
+     *
+     * @param group group to queue
+     */
+    void queueGroup(TextureGroup group) {
+        queueAtlas(mAssetManager, getAtlasPath(group));
     }
 
     /**
-     * Creates an array of {@code TextureRegion} objects by using {@code fileHandle} and {@code texture} to
-     * create the instances, then adding them in the order defined to an array.
+     * Resolves the regions of a group whose atlas has finished loading, and cuts its trimmed regions to their hulls.
      *
-     * @param texture texture source for {@code TextureRegion}
-     * @param fileHandle file to parse
-     * @return an array of {@code TextureRegion} objects
+     * @param group group to resolve
+     * @throws IllegalStateException if the region index does not match the atlas of the group
      */
-    private static TextureRegion[] parseTexturePropertiesArray(Texture texture, String fileHandle) {
-        final byte propertyX = 0;
-        final byte propertyY = 1;
-        final byte propertyWidth = 2;
-        final byte propertyHeight = 3;
-
-        final String rawFile = Gdx.files.internal("texture_properties/" + fileHandle).readString();
-        final String[] lines = rawFile.split("\n");
-        List<TextureRegion> regionList = new ArrayList<>(lines.length);
-
-        for (String line : lines) {
-            if (line != null && line.length() > 0 && line.charAt(0) != '#') {
-                String[] rawProperties = line.split("\\s+");
-                TextureRegion textureRegion = new TextureRegion(texture,
-                        Integer.parseInt(rawProperties[propertyX]),
-                        Integer.parseInt(rawProperties[propertyY]),
-                        Integer.parseInt(rawProperties[propertyWidth]),
-                        Integer.parseInt(rawProperties[propertyHeight]));
-                regionList.add(textureRegion);
-            }
+    void loadGroup(TextureGroup group) {
+        Gdx.app.debug(TAG, "Loading " + group);
+        RegionIndex.resolve(mRegionPositions,
+                group,
+                mAssetManager.get(getAtlasPath(group), TextureAtlas.class),
+                mRegions);
+        for (int i = 0; i < RegionIndex.SIZE; i++) {
+            if (mHulls[i] != null && RegionIndex.getGroup(i) == group)
+                mPolygons[i] = createPolygon(mRegions[i], mHulls[i]);
         }
+    }
 
-        TextureRegion[] regionArray = new TextureRegion[regionList.size()];
-        regionList.toArray(regionArray);
-        return regionArray;
+    /**
+     * Cuts a region to a convex hull, split into a fan of triangles from its first vertex.
+     *
+     * @param region region to cut
+     * @param hull vertices of the hull, as fractions of the region's size, from {@code RegionIndex.read()}
+     * @return the region within the hull
+     */
+    private static PolygonRegion createPolygon(TextureRegion region, float[] hull) {
+        final int vertexCount = hull.length / 2;
+        float[] vertices = new float[hull.length];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i * 2] = hull[i * 2] * region.getRegionWidth();
+            vertices[i * 2 + 1] = hull[i * 2 + 1] * region.getRegionHeight();
+        }
+
+        short[] triangles = new short[(vertexCount - 2) * 3];
+        for (int i = 0; i < vertexCount - 2; i++) {
+            triangles[i * 3] = 0;
+            triangles[i * 3 + 1] = (short) (i + 1);
+            triangles[i * 3 + 2] = (short) (i + 2);
+        }
+        return new PolygonRegion(region, vertices, triangles);
     }
 
     /**
-     * Opens the file defined by {@code fileHandle} and parses its contents to create a {@code HashMap} of {@code
-     * TextureProperties} objects.
+     * Frees references to the regions of a group, before its atlas is unloaded. The regions cannot be drawn until
+     * the group is loaded again.
      *
-     * @param fileHandle file to parse
-     * @return a mapping from the first word on each line to a {@code TextureProperties} object created using the rest
-     * of the information on the line in the file
+     * @param group group to free
      */
-    private static HashMap<String, TextureProperties> loadTextureProperties(String fileHandle) {
-        final byte propertyName = 0;
-        final byte propertyX = 1;
-        final byte propertyY = 2;
-        final byte propertyWidth = 3;
-        final byte propertyHeight = 4;
-
-        final String rawFile = Gdx.files.internal("texture_properties/" + fileHandle).readString();
-        final String[] lines = rawFile.split("\n");
-        HashMap<String, TextureProperties> properties = new HashMap<>();
-
-        for (String line : lines) {
-            if (line != null && line.length() > 0 && line.charAt(0) != '#') {
-                String[] rawProperties = line.split("\\s+");
-                TextureProperties textureProperties = new TextureProperties(Integer.parseInt(rawProperties[propertyX]),
-                        Integer.parseInt(rawProperties[propertyY]),
-                        Integer.parseInt(rawProperties[propertyWidth]),
-                        Integer.parseInt(rawProperties[propertyHeight]));
-                properties.put(rawProperties[propertyName], textureProperties);
+    void unloadGroup(TextureGroup group) {
+        Gdx.app.debug(TAG, "Unloading " + group);
+        for (int i = 0; i < RegionIndex.SIZE; i++) {
+            if (RegionIndex.getGroup(i) == group) {
+                mRegions[i] = null;
+                mPolygons[i] = null;
             }
         }
+    }
 
-        return properties;
+    /**
+     * Checks if the regions of a group can be drawn.
+     *
+     * @param group group to check
+     * @return {@code true} if the group has been loaded and resolved
+     */
+    boolean isGroupLoaded(TextureGroup group) {
+        for (int i = 0; i < RegionIndex.SIZE; i++) {
+            if (RegionIndex.getGroup(i) == group)
+                return mRegions[i] != null;
+        }
+        return false;
     }
 
     /**
-     * Gets the texture of a particular color for a wall.
+     * Gets the neutral texture for a wall. Should be drawn tinted by {@code getGameColor()}.
      *
      * @param side side of the wall
-     * @param color color of the wall
      * @return the texture to draw
      */
-    public TextureRegion getWallTexture(Wall.Side side, GameColor color) {
-        return mWallTextures.get(color.name() + side.name());
+    public TextureRegion getWallTexture(Wall.Side side) {
+        return mRegions[RegionIndex.WALLS + side.ordinal()];
     }
 
     /**
-     * Gets the slanted edge to draw for the specified wall. {@code topEdge} refers to whether the edge closest to the
-     * top of the original texture should be retrieved, or the bottom edge.
+     * Gets the neutral slanted edge to draw for the specified wall. {@code topEdge} refers to whether the edge closest
+     * to the top of the original texture should be retrieved, or the bottom edge. Should be drawn tinted by {@code
+     * getGameColor()}. The edge is trimmed to the triangle of visible pixels in its region.
      *
      * @param side side of the wall
-     * @param color color of the wall
      * @param topEdge true to get the top edge of the original texture, false to get the right
      * @return the texture to draw
      */
-    public TextureRegion getWallEdge(Wall.Side side, GameColor color, boolean topEdge) {
-        return mWallTextures.get(color.name() + side.name() + ((topEdge)
-                ? "Top"
-                : "Bottom") + "Edge");
+    public PolygonRegion getWallEdge(Wall.Side side, boolean topEdge) {
+        return mPolygons[RegionIndex.WALL_EDGES + side.ordinal() * WALL_EDGES + ((topEdge)
+                ? TOP_EDGE
+                : BOTTOM_EDGE)];
     }
 
     /**
@@ -201,7 +238,7 @@ public final class TextureManager {
      * @return icon texture
      */
     public TextureRegion getSystemIconTexture(SystemIcon icon) {
-        return mSystemIcons.get(icon.name());
+        return mRegions[RegionIndex.SYSTEM + icon.ordinal()];
     }
 
     /**
@@ -211,30 +248,46 @@ public final class TextureManager {
      * @return icon texture
      */
     public TextureRegion getMenuButtonIconTexture(MenuManager.MenuBallOption option) {
-        return mMenuIcons.get(option.name());
+        return mRegions[RegionIndex.MENU + option.ordinal()];
     }
 
     /**
-     * Gets the texture of a particular color for a ball.
+     * Gets the neutral texture for a ball. Should be drawn tinted by {@code getGameColor()}. The ball is trimmed to a
+     * polygon around the circle in its region.
      *
-     * @param color color of the ball
      * @return the texture to draw
      */
-    public TextureRegion getBallTexture(GameColor color) {
-        return mBallTextures.get(color.name());
+    public PolygonRegion getBallTexture() {
+        return mPolygons[RegionIndex.BALL];
+    }
+
+    /**
+     * Gets the tint which neutral textures should be drawn with to appear as {@code color} in the current palette.
+     *
+     * @param color game color
+     * @return the tint to draw with
+     */
+    public Color getGameColor(GameColor color) {
+        return mPalette.mColors[color.ordinal()];
+    }
+
+    /**
+     * Changes the palette which walls and balls are tinted with.
+     *
+     * @param palette new palette
+     */
+    public void setPalette(Palette palette) {
+        mPalette = palette;
     }
 
     /**
-     * Gets the texture of a particular section of the ball overlay, where 0 is the beginning of the shadow shape,
-     * and {@code getTotalBallShadowParts()} is the end of the shadow shape.
+     * Gets the texture of the complete ball overlay shadow. The shadow is made of {@code getTotalBallShadowParts()}
+     * equal wedges, starting at the top of the ball and moving counter-clockwise.
      *
-     * @param index index of shadow overlay piece
      * @return the texture to draw
      */
-    public TextureRegion getBallOverlayTexture(int index) {
-        if (index < 0 || index > getTotalBallShadowParts())
-            throw new IndexOutOfBoundsException("Must be between 0 and getTotalBallShadowParts()");
-        return mBallOverlayTextures[index];
+    public TextureRegion getBallOverlayTexture() {
+        return mRegions[RegionIndex.BALL_OVERLAY];
     }
 
     /**
@@ -244,7 +297,7 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getCountdownTexture(GameManager.GameCountdown item) {
-        return mGameCountdownTextures.get(item.name());
+        return mRegions[RegionIndex.COUNTDOWN + item.ordinal()];
     }
 
     /**
@@ -254,62 +307,300 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getBackgroundTexture(Background bg) {
-        return mBackgroundTextures.get(bg.name());
+        return mRegions[RegionIndex.BACKGROUNDS + bg.ordinal()];
     }
 
     /**
-     * Frees resources used by textures in this class.
+     * Frees references to textures in this class. The atlases themselves are disposed by the asset manager which
+     * loaded them.
      */
     public void dispose() {
         Gdx.app.debug(TAG, "Disposing");
-        mWallTextures = null;
-        mBallTextures = null;
-        mGameCountdownTextures = null;
-        mMenuIcons = null;
-        mSystemIcons = null;
-        mBackgroundTextures = null;
-
-        mGameTexture.dispose();
-        mMenuTexture.dispose();
-        mBackgroundTexture.dispose();
+        mRegions = null;
+        mRegionPositions = null;
+        mAssetManager = null;
+        mVariant = null;
     }
 
     /**
      * The total number of parts required to fill the ball overlay shadow.
      *
-     * @return size of {@code mBallOverlayTextures}
+     * @return number of wedges in {@code texture_properties/ball_overlays.txt}
      */
     public int getTotalBallShadowParts() {
-        return mBallOverlayTextures.length;
+        return BALL_SHADOW_PARTS;
     }
 
     /**
-     * Declares certain basic properties to construct a {@code TextureRegion}.
+     * Groups of textures which are packed into separate atlases, so that each can be loaded only while the game is
+     * in a state that draws it.
      */
-    public static final class TextureProperties {
+    public enum TextureGroup {
+        /** Walls, balls, the pause icon and backgrounds, which every state draws. */
+        Game,
+        /** Icons of the main menu. */
+        Menu,
+        /** Icons of the countdown before a game starts. */
+        Countdown;
+
+        /** Size of the enum. */
+        private static final int SIZE = TextureGroup.values().length;
+
+        /** Name of the atlas of this group, without its variant suffix or extension. */
+        private final String mAtlasName = "swip-" + name().toLowerCase(Locale.US);
+        /** Path of the atlas of this group within the assets, indexed by {@code Variant} ordinal. */
+        private final String[] mAtlasPaths = new String[Variant.values().length];
+
+        /**
+         * Prepares the paths of each variant of the group's atlas, so they are not built while loading.
+         */
+        TextureGroup() {
+            for (Variant variant : Variant.values())
+                mAtlasPaths[variant.ordinal()] = "atlas/" + mAtlasName + variant.getSuffix() + ".atlas";
+        }
 
-        /** Left edge of the texture. */
-        private int mX;
-        /** Top edge of the texture. */
-        private int mY;
-        /** Width of the texture. */
-        private int mWidth;
-        /** Height of the texture. */
-        private int mHeight;
+        /**
+         * Gets the size of the enum.
+         *
+         * @return number of {@code TextureGroup} values
+         */
+        public static int getSize() {
+            return SIZE;
+        }
 
         /**
-         * Creates a new {@code TextureProperties} using the provided parameters as member variables.
+         * Gets the bit which represents this group in a set of groups.
          *
-         * @param x left edge of the texture
-         * @param y top edge of the texture
-         * @param width width of the texture
-         * @param height height of the texture
+         * @return the bit of this group
          */
-        public TextureProperties(int x, int y, int width, int height) {
-            this.mX = x;
-            this.mY = y;
-            this.mWidth = width;
-            this.mHeight = height;
+        public int getMask() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Gets the name of the atlas of this group, as it is packed before a variant suffix is added.
+         *
+         * @return name of the atlas
+         */
+        public String getAtlasName() {
+            return mAtlasName;
+        }
+
+        /**
+         * Gets the path of a variant of the atlas of this group within the assets.
+         *
+         * @param variant resolution of the atlas
+         * @return path of the atlas
+         */
+        public String getAtlasPath(Variant variant) {
+            return mAtlasPaths[variant.ordinal()];
+        }
+    }
+
+    /**
+     * Resolutions the atlases are packed at. Sprites are sized relative to the screen, so the smallest variant which
+     * still has at least one texel for each pixel the balls cover is loaded, and smaller screens load fewer pixels.
+     */
+    public enum Variant {
+        /** A third of the resolution of the design spritesheets. */
+        Small(1 / 3f, "@1x"),
+        /** Two thirds of the resolution of the design spritesheets. */
+        Medium(2 / 3f, "@2x"),
+        /** The full resolution of the design spritesheets. */
+        Large(1f, "@3x");
+
+        /**
+         * Smaller dimension of the screen, in pixels, at which balls in the {@code Large} variant are drawn at their
+         * original size. Balls are the most detailed sprites, and are 182 pixels across at a size of 0.15 of the
+         * smaller dimension.
+         */
+        private static final float LARGE_SCREEN_SIZE = 1200f;
+
+        /** Scale of the variant relative to the design spritesheets. */
+        private final float mScale;
+        /** Suffix appended to the names of the variant's atlases and index. */
+        private final String mSuffix;
+
+        /**
+         * Creates a variant.
+         *
+         * @param scale scale relative to the design spritesheets
+         * @param suffix suffix of the variant's files
+         */
+        Variant(float scale, String suffix) {
+            mScale = scale;
+            mSuffix = suffix;
+        }
+
+        /**
+         * Chooses the variant to load for a screen.
+         *
+         * @param screenWidth width of the screen, in pixels
+         * @param screenHeight height of the screen, in pixels
+         * @return the smallest variant which is not magnified on the screen, or {@code Large} if none are
+         */
+        public static Variant select(int screenWidth, int screenHeight) {
+            final float requiredScale = Math.min(screenWidth, screenHeight) / LARGE_SCREEN_SIZE;
+            for (Variant variant : values()) {
+                if (variant.mScale >= requiredScale)
+                    return variant;
+            }
+            return Large;
+        }
+
+        /**
+         * Gets the scale of the variant relative to the design spritesheets.
+         *
+         * @return scale of the variant
+         */
+        public float getScale() {
+            return mScale;
+        }
+
+        /**
+         * Gets the suffix appended to the names of the variant's atlases and index.
+         *
+         * @return suffix of the variant
+         */
+        public String getSuffix() {
+            return mSuffix;
+        }
+    }
+
+    /**
+     * Formats the pages of the atlases are stored in. Every page is packed in each format, and the most compact
+     * format the device can sample from is loaded. Both compressed formats use a quarter of the memory of PNG pages,
+     * which are decoded to RGBA8888, and are uploaded without being decoded. Mip maps are stored with the compressed
+     * pages, since compressed textures cannot generate their own.
+     */
+    public enum TextureFormat {
+        /** ETC2 with an EAC alpha channel, which every OpenGL ES 3.0 device supports. */
+        Etc2(".etc2.zktx"),
+        /**
+         * ETC1, which has no alpha channel, so pages are twice as tall with the alpha stored below the colors. Must
+         * be drawn with a {@code SplitAlphaShader}.
+         */
+        Etc1(".etc1.zktx"),
+        /** Uncompressed pixels, which every device supports. */
+        Png(".png");
+
+        /** Internal format of ETC2 textures with an EAC alpha channel. */
+        public static final int GL_COMPRESSED_RGBA8_ETC2_EAC = 0x9278;
+        /** Internal format of ETC1 textures. */
+        public static final int GL_ETC1_RGB8_OES = 0x8d64;
+        /** Extension which indicates ETC1 textures are supported. */
+        private static final String ETC1_EXTENSION = "GL_OES_compressed_ETC1_RGB8_texture";
+        /** Prefix of the version string of an OpenGL ES context. */
+        private static final String GL_ES_VERSION_PREFIX = "OpenGL ES ";
+        /** First version of OpenGL ES which requires ETC2 support. */
+        private static final int GL_ES_ETC2_MAJOR_VERSION = 3;
+
+        /** Extension of the pages in this format, which replaces the extension of the PNG pages. */
+        private final String mExtension;
+
+        /**
+         * Creates a format.
+         *
+         * @param extension extension of pages in the format
+         */
+        TextureFormat(String extension) {
+            mExtension = extension;
+        }
+
+        /**
+         * Chooses the format to load for the current GL context. Must be called on the rendering thread.
+         *
+         * @return the most compact format the context supports
+         */
+        public static TextureFormat detect() {
+            final IntBuffer count = BufferUtils.newIntBuffer(1);
+            Gdx.gl.glGetIntegerv(GL20.GL_NUM_COMPRESSED_TEXTURE_FORMATS, count);
+            final IntBuffer formats = BufferUtils.newIntBuffer(Math.max(1, count.get(0)));
+            Gdx.gl.glGetIntegerv(GL20.GL_COMPRESSED_TEXTURE_FORMATS, formats);
+
+            int[] compressedFormats = new int[count.get(0)];
+            formats.get(compressedFormats);
+            final TextureFormat format = select(Gdx.graphics.isGL30Available(),
+                    Gdx.gl.glGetString(GL20.GL_VERSION),
+                    Gdx.gl.glGetString(GL20.GL_EXTENSIONS),
+                    compressedFormats);
+            Gdx.app.debug(TAG, "Selected " + format + " textures");
+            return format;
+        }
+
+        /**
+         * Chooses the format to load for a GL context with the given capabilities. ETC2 is chosen if the context
+         * lists it as a compressed format, or was created as an OpenGL ES 3.0 context and reports version 3.0 or
+         * later. The version alone is not trusted, since a device with OpenGL ES 3.0 still creates an OpenGL ES 2.0
+         * context unless asked for a newer one, and such contexts may reject ETC2. Otherwise, ETC1 is chosen if it is
+         * listed or its extension is available, and PNG if neither is.
+         *
+         * @param gl30Context {@code true} if the application created an OpenGL ES 3.0 context
+         * @param glVersion value of {@code GL_VERSION}, or {@code null} if unknown
+         * @param glExtensions value of {@code GL_EXTENSIONS}, or {@code null} if unknown
+         * @param compressedFormats values of {@code GL_COMPRESSED_TEXTURE_FORMATS}
+         * @return the most compact format the context supports
+         */
+        public static TextureFormat select(boolean gl30Context,
+                                           String glVersion,
+                                           String glExtensions,
+                                           int[] compressedFormats) {
+            boolean etc2Listed = false;
+            boolean etc1Listed = false;
+            for (int format : compressedFormats) {
+                etc2Listed |= format == GL_COMPRESSED_RGBA8_ETC2_EAC;
+                etc1Listed |= format == GL_ETC1_RGB8_OES;
+            }
+
+            if (etc2Listed || (gl30Context && getGlEsMajorVersion(glVersion) >= GL_ES_ETC2_MAJOR_VERSION))
+                return Etc2;
+            else if (etc1Listed || (glExtensions != null && glExtensions.contains(ETC1_EXTENSION)))
+                return Etc1;
+            else
+                return Png;
+        }
+
+        /**
+         * Gets the major version of an OpenGL ES context from its version string, in the form {@code OpenGL ES
+         * N.M vendor-specific}.
+         *
+         * @param glVersion value of {@code GL_VERSION}, or {@code null} if unknown
+         * @return the major version, or 0 if the context is not OpenGL ES or the version is unknown
+         */
+        private static int getGlEsMajorVersion(String glVersion) {
+            if (glVersion == null || !glVersion.startsWith(GL_ES_VERSION_PREFIX))
+                return 0;
+
+            int major = 0;
+            for (int i = GL_ES_VERSION_PREFIX.length(); i < glVersion.length(); i++) {
+                final char digit = glVersion.charAt(i);
+                if (digit < '0' || digit > '9')
+                    break;
+                major = major * 10 + digit - '0';
+            }
+            return major;
+        }
+
+        /**
+         * Gets the file of a page in this format.
+         *
+         * @param pngFile the PNG page, as named in the atlas
+         * @return the page in this format, alongside the PNG page
+         */
+        public FileHandle getPageFile(FileHandle pngFile) {
+            return (this == Png)
+                    ? pngFile
+                    : pngFile.sibling(pngFile.nameWithoutExtension() + mExtension);
+        }
+
+        /**
+         * Checks if pages in this format store their alpha channel below their colors, so they must be drawn with a
+         * {@code SplitAlphaShader}.
+         *
+         * @return {@code true} if the alpha channel is split from the colors
+         */
+        public boolean hasSplitAlpha() {
+            return this == Etc1;
         }
     }
 
@@ -359,6 +650,37 @@ public final class TextureManager {
         }
     }
 
+    /**
+     * Sets of tints for each {@code GameColor}. The default palette was fit against the neutral textures packed by
+     * {@code SpritesheetPacker}, so that tinting them reproduces the original colored art.
+     */
+    public enum Palette {
+        /** The original colors of the game. */
+        Default(0xbb0000, 0x0000bb, 0x008000, 0xff9919, 0xdd44bb, 0xbb7ff6, 0x808080, 0x44bbf6, 0xff9999, 0xbbff7f),
+        /** Colors which remain distinguishable with the common forms of color blindness. */
+        ColorblindSafe(0xd55e00, 0x0072b2, 0x009e73, 0xe69f00, 0xcc79a7, 0x332288, 0x999999, 0x56b4e9, 0xf0e442,
+                0x882255);
+
+        /** Tints for each {@code GameColor}, indexed by ordinal. */
+        private final Color[] mColors;
+
+        /**
+         * Creates a palette from RGB888 values.
+         *
+         * @param colors a tint for each {@code GameColor}, in order
+         * @throws IllegalArgumentException if there is not exactly one tint for each {@code GameColor}
+         */
+        Palette(int... colors) {
+            if (colors.length != GameColor.getSize())
+                throw new IllegalArgumentException("must have a tint for each of the " + GameColor.getSize()
+                        + " colors, not " + colors.length);
+
+            mColors = new Color[colors.length];
+            for (int i = 0; i < colors.length; i++)
+                mColors[i] = new Color((colors[i] << 8) | 0xff);
+        }
+    }
+
     /**
      * Icons which represent system operations.
      */
@@ -0,0 +1,216 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Keeps each {@code TextureManager.TextureGroup} loaded only while the game is in a state which draws it, or in a
+ * state which can directly precede one that does. Each state holds a reference to the groups of its scope, so a group
+ * is released once no state in the scope of the current state draws it, and unloaded after a grace period in case it
+ * is soon needed again. Groups are prefetched in the background one state ahead, so changing state never waits for a
+ * texture to load.
+ */
+public class TextureResidency {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "TextureResidency";
+
+    /** Number of nanoseconds a group remains loaded after it is released, in case it is needed again. */
+    private static final long GRACE_PERIOD = 5000000000L;
+    /** Indicates a group is referenced by the current scope, or has already been unloaded. */
+    private static final long NOT_RELEASED = -1;
+
+    /** Every texture group, cached so that updating does not allocate. */
+    private static final TextureManager.TextureGroup[] GROUPS = TextureManager.TextureGroup.values();
+
+    /** Loads and owns the atlas of each group. */
+    private AssetManager mAssetManager;
+    /** Resolves the regions of each group once loaded. */
+    private TextureManager mTextureManager;
+
+    /** Number of references to each group, indexed by {@code TextureGroup} ordinal. */
+    private final int[] mReferences = new int[TextureManager.TextureGroup.getSize()];
+    /** Time at which each group was last released, or {@code NOT_RELEASED}, indexed by ordinal. */
+    private final long[] mReleaseTimes = new long[TextureManager.TextureGroup.getSize()];
+    /** Groups which have been queued to load but not yet resolved, as a bitmask. */
+    private int mLoadingGroups;
+
+    /** State whose scope is currently referenced, or {@code null} before the first state. */
+    private GameScreen.GameState mCurrentState;
+
+    /**
+     * Gets the groups drawn in a state.
+     *
+     * @param state state of the game
+     * @return the groups, as a bitmask of {@code TextureGroup.getMask()}
+     */
+    private static int getDrawnGroups(GameScreen.GameState state) {
+        switch (state) {
+            case MainMenu:
+                return TextureManager.TextureGroup.Game.getMask() | TextureManager.TextureGroup.Menu.getMask();
+            case GameStarting:
+                return TextureManager.TextureGroup.Game.getMask() | TextureManager.TextureGroup.Countdown.getMask();
+            case GamePlaying:
+            case GamePaused:
+            case Ended:
+                return TextureManager.TextureGroup.Game.getMask();
+            default:
+                throw new IllegalArgumentException("invalid game state.");
+        }
+    }
+
+    /**
+     * Gets the groups which must be loaded in a state: those it draws, and those drawn by any state which can
+     * directly follow it.
+     *
+     * @param state state of the game
+     * @return the groups, as a bitmask of {@code TextureGroup.getMask()}
+     */
+    public static int getScope(GameScreen.GameState state) {
+        switch (state) {
+            case MainMenu:
+            case Ended:
+                return getDrawnGroups(state) | getDrawnGroups(GameScreen.GameState.GameStarting);
+            case GameStarting:
+                return getDrawnGroups(state)
+                        | getDrawnGroups(GameScreen.GameState.GamePlaying)
+                        | getDrawnGroups(GameScreen.GameState.GamePaused);
+            case GamePlaying:
+                return getDrawnGroups(state)
+                        | getDrawnGroups(GameScreen.GameState.GamePaused)
+                        | getDrawnGroups(GameScreen.GameState.Ended);
+            case GamePaused:
+                // Resuming returns to either state the game can be paused from
+                return getDrawnGroups(state)
+                        | getDrawnGroups(GameScreen.GameState.GameStarting)
+                        | getDrawnGroups(GameScreen.GameState.GamePlaying);
+            default:
+                throw new IllegalArgumentException("invalid game state.");
+        }
+    }
+
+    /**
+     * Begins tracking the residency of groups. Groups which are already loaded are not referenced until a state is
+     * entered, and are unloaded after the grace period if that state does not need them.
+     *
+     * @param assetManager asset manager which loads the atlas of each group
+     * @param textureManager texture manager to resolve the regions of each group
+     */
+    public TextureResidency(AssetManager assetManager, TextureManager textureManager) {
+        mAssetManager = assetManager;
+        mTextureManager = textureManager;
+        for (int i = 0; i < mReleaseTimes.length; i++)
+            mReleaseTimes[i] = TimeUtils.nanoTime();
+    }
+
+    /**
+     * References the scope of a new state and releases the scope of the previous state. Groups the new state draws
+     * should have been prefetched by the previous state, but are loaded immediately if they were not.
+     *
+     * @param state new state of the game
+     */
+    public void enterState(GameScreen.GameState state) {
+        retain(getScope(state));
+        if (mCurrentState != null)
+            release(getScope(mCurrentState));
+        mCurrentState = state;
+
+        final int drawnGroups = getDrawnGroups(state);
+        for (TextureManager.TextureGroup group : GROUPS) {
+            if ((drawnGroups & group.getMask()) != 0 && !mTextureManager.isGroupLoaded(group)) {
+                Gdx.app.debug(TAG, group + " was not prefetched before " + state);
+                mAssetManager.finishLoadingAsset(mTextureManager.getAtlasPath(group));
+                mTextureManager.loadGroup(group);
+                mLoadingGroups &= ~group.getMask();
+            }
+        }
+    }
+
+    /**
+     * Resolves groups which have finished loading in the background, and unloads groups whose grace period has
+     * passed. Should be called once per frame.
+     */
+    public void update() {
+        if (mLoadingGroups != 0)
+            mAssetManager.update();
+
+        final long now = TimeUtils.nanoTime();
+        for (TextureManager.TextureGroup group : GROUPS) {
+            final int ordinal = group.ordinal();
+            final boolean loading = (mLoadingGroups & group.getMask()) != 0;
+            if (loading && mAssetManager.isLoaded(mTextureManager.getAtlasPath(group), TextureAtlas.class)) {
+                mTextureManager.loadGroup(group);
+                mLoadingGroups &= ~group.getMask();
+            } else if (!loading
+                    && mReferences[ordinal] == 0
+                    && mReleaseTimes[ordinal] != NOT_RELEASED
+                    && now - mReleaseTimes[ordinal] > GRACE_PERIOD) {
+                mReleaseTimes[ordinal] = NOT_RELEASED;
+                if (mTextureManager.isGroupLoaded(group)) {
+                    mTextureManager.unloadGroup(group);
+                    mAssetManager.unload(mTextureManager.getAtlasPath(group));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if any group is being loaded in the background, so frames must continue to be rendered for it to
+     * finish.
+     *
+     * @return {@code true} if a group is loading
+     */
+    public boolean isLoading() {
+        return mLoadingGroups != 0;
+    }
+
+    /**
+     * Adds a reference to each group in a set, loading those which are not already loaded or loading.
+     *
+     * @param groups groups to reference, as a bitmask of {@code TextureGroup.getMask()}
+     */
+    private void retain(int groups) {
+        for (TextureManager.TextureGroup group : GROUPS) {
+            if ((groups & group.getMask()) == 0)
+                continue;
+
+            final int ordinal = group.ordinal();
+            mReferences[ordinal]++;
+            mReleaseTimes[ordinal] = NOT_RELEASED;
+            if (!mTextureManager.isGroupLoaded(group) && (mLoadingGroups & group.getMask()) == 0) {
+                mTextureManager.queueGroup(group);
+                mLoadingGroups |= group.getMask();
+            }
+        }
+    }
+
+    /**
+     * Removes a reference to each group in a set. Groups left with no references begin their grace period.
+     *
+     * @param groups groups to release, as a bitmask of {@code TextureGroup.getMask()}
+     */
+    private void release(int groups) {
+        for (TextureManager.TextureGroup group : GROUPS) {
+            if ((groups & group.getMask()) == 0)
+                continue;
+
+            final int ordinal = group.ordinal();
+            if (mReferences[ordinal] == 0)
+                throw new IllegalStateException(group + " was released more times than it was retained");
+            if (--mReferences[ordinal] == 0)
+                mReleaseTimes[ordinal] = TimeUtils.nanoTime();
+        }
+    }
+
+    /**
+     * Frees references to objects. The atlases are disposed by the asset manager which loaded them.
+     */
+    public void dispose() {
+        mAssetManager = null;
+        mTextureManager = null;
+    }
+}
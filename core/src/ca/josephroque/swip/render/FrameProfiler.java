@@ -0,0 +1,191 @@
+package ca.josephroque.swip.render;
+
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+import java.util.Arrays;
+
+/**
+ * Counts what each frame asks of the GPU, so the cost of rendering changes can be measured rather than judged by eye.
+ * Counting wraps every GL call made through {@code Gdx.gl} with {@code GLProfiler}, so it is only enabled when asked
+ * for. The counts of the last frame are kept, along with the total and largest counts of the frames drawn in each
+ * {@code GameScreen.GameState}.
+ */
+public class FrameProfiler {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "FrameProfiler";
+
+    /** Counts of the last frame, indexed by {@code Counter} ordinal. */
+    private final int[] mLastFrame = new int[Counter.getSize()];
+    /** Sum of the counts of every frame drawn in each state, indexed by state and then counter ordinal. */
+    private final long[][] mStateTotals = new long[GameScreen.GameState.getSize()][Counter.getSize()];
+    /** Largest count of any frame drawn in each state, indexed by state and then counter ordinal. */
+    private final int[][] mStateMaximums = new int[GameScreen.GameState.getSize()][Counter.getSize()];
+    /** Number of frames drawn in each state, indexed by state ordinal. */
+    private final int[] mStateFrames = new int[GameScreen.GameState.getSize()];
+
+    /** Indicates if a frame has begun and not yet ended. */
+    private boolean mInFrame;
+
+    /**
+     * Starts counting GL calls. Must be called on the rendering thread once the GL context has been created.
+     */
+    public void enable() {
+        GLProfiler.enable();
+    }
+
+    /**
+     * Stops counting GL calls, and restores the GL context which was wrapped.
+     */
+    public void disable() {
+        GLProfiler.disable();
+        mInFrame = false;
+    }
+
+    /**
+     * Begins counting a frame. Anything drawn before the frame begins, such as the previous frame's overlay, is not
+     * counted.
+     */
+    public void beginFrame() {
+        GLProfiler.reset();
+        mInFrame = true;
+    }
+
+    /**
+     * Finishes counting a frame, and adds its counts to those of the state it was drawn in.
+     *
+     * @param state state the frame was drawn in
+     * @param spriteBatch graphics context the frame was drawn with, after its last call to {@code end()}
+     * @throws IllegalStateException if the frame was not begun
+     */
+    public void endFrame(GameScreen.GameState state, SpriteBatch spriteBatch) {
+        if (!mInFrame)
+            throw new IllegalStateException("must call beginFrame() before endFrame()");
+        mInFrame = false;
+
+        mLastFrame[Counter.GlCalls.ordinal()] = GLProfiler.calls;
+        mLastFrame[Counter.DrawCalls.ordinal()] = GLProfiler.drawCalls;
+        mLastFrame[Counter.TextureBindings.ordinal()] = GLProfiler.textureBindings;
+        mLastFrame[Counter.ShaderSwitches.ordinal()] = GLProfiler.shaderSwitches;
+        mLastFrame[Counter.Vertices.ordinal()] = (int) GLProfiler.vertexCount.total;
+        mLastFrame[Counter.BatchFlushes.ordinal()] = spriteBatch.renderCalls;
+
+        final int stateIdx = state.ordinal();
+        mStateFrames[stateIdx]++;
+        for (int i = 0; i < mLastFrame.length; i++) {
+            mStateTotals[stateIdx][i] += mLastFrame[i];
+            mStateMaximums[stateIdx][i] = Math.max(mStateMaximums[stateIdx][i], mLastFrame[i]);
+        }
+    }
+
+    /**
+     * Gets a count of the last frame.
+     *
+     * @param counter counter to get
+     * @return the count of the last frame which ended
+     */
+    public int getLastFrame(Counter counter) {
+        return mLastFrame[counter.ordinal()];
+    }
+
+    /**
+     * Gets the number of frames which have been counted in a state.
+     *
+     * @param state state to check
+     * @return number of frames drawn in {@code state}
+     */
+    public int getFrames(GameScreen.GameState state) {
+        return mStateFrames[state.ordinal()];
+    }
+
+    /**
+     * Gets the average count of the frames drawn in a state.
+     *
+     * @param state state to check
+     * @param counter counter to get
+     * @return the average count per frame, or 0 if no frames were drawn in {@code state}
+     */
+    public float getAverage(GameScreen.GameState state, Counter counter) {
+        final int frames = mStateFrames[state.ordinal()];
+        return (frames == 0)
+                ? 0
+                : mStateTotals[state.ordinal()][counter.ordinal()] / (float) frames;
+    }
+
+    /**
+     * Gets the largest count of any frame drawn in a state.
+     *
+     * @param state state to check
+     * @param counter counter to get
+     * @return the largest count of a single frame, or 0 if no frames were drawn in {@code state}
+     */
+    public int getMaximum(GameScreen.GameState state, Counter counter) {
+        return mStateMaximums[state.ordinal()][counter.ordinal()];
+    }
+
+    /**
+     * Discards the counts of every frame counted so far.
+     */
+    public void reset() {
+        Arrays.fill(mLastFrame, 0);
+        Arrays.fill(mStateFrames, 0);
+        for (int i = 0; i < mStateTotals.length; i++) {
+            Arrays.fill(mStateTotals[i], 0);
+            Arrays.fill(mStateMaximums[i], 0);
+        }
+    }
+
+    /**
+     * What is counted for each frame.
+     */
+    public enum Counter {
+        /** Every call made to the GL context. */
+        GlCalls("GL calls"),
+        /** Calls which draw primitives. */
+        DrawCalls("Draw calls"),
+        /** Textures bound. */
+        TextureBindings("Binds"),
+        /** Shader programs switched to. */
+        ShaderSwitches("Shaders"),
+        /** Vertices drawn, counting shared vertices once for each index which refers to them. */
+        Vertices("Vertices"),
+        /** Times the sprite batch submitted its sprites to the GPU. */
+        BatchFlushes("Flushes");
+
+        /** Size of the enum. */
+        private static final int SIZE = Counter.values().length;
+
+        /** Short name of the counter, to label it with. */
+        private final String mLabel;
+
+        /**
+         * Creates a counter.
+         *
+         * @param label short name of the counter
+         */
+        Counter(String label) {
+            mLabel = label;
+        }
+
+        /**
+         * Gets a short name of the counter, to label it with.
+         *
+         * @return the label of the counter
+         */
+        public String getLabel() {
+            return mLabel;
+        }
+
+        /**
+         * Gets the size of the enum.
+         *
+         * @return number of {@code Counter}
+         */
+        public static int getSize() {
+            return SIZE;
+        }
+    }
+}
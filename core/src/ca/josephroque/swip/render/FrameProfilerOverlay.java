@@ -0,0 +1,79 @@
+package ca.josephroque.swip.render;
+
+import ca.josephroque.swip.manager.FontManager;
+import ca.josephroque.swip.text.NumberText;
+import ca.josephroque.swip.text.StaticText;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Draws the counts of the last frame from a {@code FrameProfiler} in a corner of the screen, one counter per line.
+ * Labels are laid out once and values are drawn with {@code NumberText}, so the overlay does not allocate and adds
+ * only a single text flush to each frame.
+ */
+public class FrameProfilerOverlay {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "FrameProfilerOverlay";
+
+    /** Height of a line of the overlay, relative to the default text size. */
+    private static final float OVERLAY_TEXT_SCALE = 0.75f;
+    /** Space between the longest label and the values, in pixels. */
+    private static final float VALUE_SPACING = 8f;
+    /** Every counter, cached so that drawing does not allocate. */
+    private static final FrameProfiler.Counter[] COUNTERS = FrameProfiler.Counter.values();
+
+    /** Profiler whose counts are drawn. */
+    private final FrameProfiler mProfiler;
+    /** Label of each counter, indexed by {@code FrameProfiler.Counter} ordinal. */
+    private final StaticText[] mLabels = new StaticText[FrameProfiler.Counter.getSize()];
+    /** Value of each counter, indexed by {@code FrameProfiler.Counter} ordinal. */
+    private final NumberText[] mValues = new NumberText[FrameProfiler.Counter.getSize()];
+    /** Horizontal distance from the left of the overlay to its values. */
+    private final float mValueOffset;
+    /** Height of a line of the overlay, in pixels. */
+    private final float mLineHeight;
+
+    /**
+     * Lays out the overlay with the default font. Must be called once {@code FontManager} has been initialized.
+     *
+     * @param profiler profiler whose counts are drawn
+     */
+    public FrameProfilerOverlay(FrameProfiler profiler) {
+        mProfiler = profiler;
+
+        mLineHeight = FontManager.getDefaultTextSize() * OVERLAY_TEXT_SCALE;
+        FontManager.setTextSize(mLineHeight);
+        float labelWidth = 0;
+        for (FrameProfiler.Counter counter : COUNTERS) {
+            mLabels[counter.ordinal()] = new StaticText(FontManager.getDefaultFont(), counter.getLabel());
+            mValues[counter.ordinal()] = new NumberText(FontManager.getDefaultFont());
+            labelWidth = Math.max(labelWidth, mLabels[counter.ordinal()].getWidth());
+        }
+        FontManager.setTextSize(FontManager.getDefaultTextSize());
+
+        mValueOffset = labelWidth + VALUE_SPACING;
+    }
+
+    /**
+     * Draws the counts of the last frame.
+     *
+     * @param spriteBatch graphics context to draw to, between calls to {@code begin()} and {@code end()}
+     * @param left left edge of the overlay
+     * @param top top of the overlay
+     */
+    public void draw(SpriteBatch spriteBatch, float left, float top) {
+        FontManager.beginText(spriteBatch);
+        for (FrameProfiler.Counter counter : COUNTERS) {
+            final float y = top - counter.ordinal() * mLineHeight;
+            final NumberText value = mValues[counter.ordinal()];
+            value.setValue(mProfiler.getLastFrame(counter));
+            value.setPosition(left + mValueOffset, y);
+            mLabels[counter.ordinal()].setPosition(left, y);
+
+            mLabels[counter.ordinal()].draw(spriteBatch);
+            value.draw(spriteBatch);
+        }
+        FontManager.endText(spriteBatch);
+    }
+}
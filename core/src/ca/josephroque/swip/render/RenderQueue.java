@@ -0,0 +1,529 @@
+package ca.josephroque.swip.render;
+
+import ca.josephroque.swip.manager.FontManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PolygonRegion;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+
+/**
+ * Collects the sprites of a frame into {@code Layer}s, then draws them with as few state changes as possible. Layers
+ * are drawn in order, so anything which must appear above something else is submitted to a later layer. Within a
+ * layer, commands are grouped by texture, so their order is only kept between commands with the same texture. Opaque
+ * layers are drawn with blending disabled. The queue is reused every frame, and only allocates when a frame submits
+ * more than any frame before it.
+ */
+public class RenderQueue {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "RenderQueue";
+
+    /** Number of floats {@code SpriteBatch} uses to describe a single vertex (x, y, color, u, v). */
+    private static final int VERTEX_SIZE = 5;
+    /** Number of floats {@code SpriteBatch} uses to describe a single quad. */
+    private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+    /** Number of quads the queue can hold before it must grow. */
+    private static final int INITIAL_QUADS = 128;
+    /** Number of commands the queue can hold before it must grow. */
+    private static final int INITIAL_COMMANDS = 32;
+
+    /** Bit position of the layer within a sort key. */
+    private static final int LAYER_SHIFT = 48;
+    /** Bit position of the texture within a sort key. */
+    private static final int TEXTURE_SHIFT = 32;
+    /** Bits of a sort key which hold the command's index. */
+    private static final long COMMAND_MASK = 0xffffffffL;
+
+    /** Vertices of every sprite command, in the format expected by {@code SpriteBatch}. */
+    private float[] mVertices = new float[INITIAL_QUADS * QUAD_SIZE];
+    /** Number of values in {@code mVertices} which have been submitted this frame. */
+    private int mVertexCount;
+
+    /** Textures used by the commands this frame, in the order they were first submitted. */
+    private Texture[] mTextures = new Texture[INITIAL_COMMANDS];
+    /** Number of textures in {@code mTextures}. */
+    private int mTextureCount;
+
+    /**
+     * Sort key of each command: its layer, then the index of its texture in {@code mTextures}, then its own index,
+     * so sorting keeps the submitted order of commands with the same layer and texture.
+     */
+    private long[] mCommandKeys = new long[INITIAL_COMMANDS];
+    /** Position of the vertices of each command in {@code mVertices}. */
+    private int[] mCommandOffsets = new int[INITIAL_COMMANDS];
+    /** Number of values in {@code mVertices} for each command. */
+    private int[] mCommandCounts = new int[INITIAL_COMMANDS];
+    /** Object which draws each command itself, or {@code null} for commands described by vertices. */
+    private Drawable[] mCommandDrawables = new Drawable[INITIAL_COMMANDS];
+    /** Number of commands submitted this frame. */
+    private int mCommandCount;
+
+    /**
+     * Submits a region drawn as an axis-aligned rectangle.
+     *
+     * @param layer layer to draw the region in
+     * @param region region to draw
+     * @param x left edge of the rectangle
+     * @param y bottom edge of the rectangle
+     * @param width width of the rectangle
+     * @param height height of the rectangle
+     * @param color tint of the region
+     */
+    public void draw(Layer layer, TextureRegion region, float x, float y, float width, float height, Color color) {
+        final int idx = reserveQuad(layer, region.getTexture());
+        final float packedColor = color.toFloatBits();
+        putVertex(idx, x, y, packedColor, region.getU(), region.getV2());
+        putVertex(idx + VERTEX_SIZE, x, y + height, packedColor, region.getU(), region.getV());
+        putVertex(idx + VERTEX_SIZE * 2, x + width, y + height, packedColor, region.getU2(), region.getV());
+        putVertex(idx + VERTEX_SIZE * 3, x + width, y, packedColor, region.getU2(), region.getV2());
+    }
+
+    /**
+     * Submits a region drawn as a rectangle rotated around its bottom left corner.
+     *
+     * @param layer layer to draw the region in
+     * @param region region to draw
+     * @param x horizontal position of the corner the rectangle is rotated around
+     * @param y vertical position of the corner the rectangle is rotated around
+     * @param width width of the rectangle before it is rotated
+     * @param height height of the rectangle before it is rotated
+     * @param rotation counter-clockwise rotation of the rectangle, in degrees
+     * @param color tint of the region
+     */
+    public void draw(Layer layer,
+                     TextureRegion region,
+                     float x,
+                     float y,
+                     float width,
+                     float height,
+                     float rotation,
+                     Color color) {
+        final int idx = reserveQuad(layer, region.getTexture());
+        final float packedColor = color.toFloatBits();
+        final float cos = MathUtils.cosDeg(rotation);
+        final float sin = MathUtils.sinDeg(rotation);
+        putVertex(idx, x, y, packedColor, region.getU(), region.getV2());
+        putVertex(idx + VERTEX_SIZE,
+                x - sin * height,
+                y + cos * height,
+                packedColor,
+                region.getU(),
+                region.getV());
+        putVertex(idx + VERTEX_SIZE * 2,
+                x + cos * width - sin * height,
+                y + sin * width + cos * height,
+                packedColor,
+                region.getU2(),
+                region.getV());
+        putVertex(idx + VERTEX_SIZE * 3,
+                x + cos * width,
+                y + sin * width,
+                packedColor,
+                region.getU2(),
+                region.getV2());
+    }
+
+    /**
+     * Submits a polygon drawn stretched over an axis-aligned rectangle. Only the triangles of the polygon are shaded,
+     * rather than the whole of its region.
+     *
+     * @param layer layer to draw the polygon in
+     * @param polygon polygon to draw
+     * @param x left edge of the rectangle
+     * @param y bottom edge of the rectangle
+     * @param width width of the rectangle
+     * @param height height of the rectangle
+     * @param color tint of the polygon
+     */
+    public void draw(Layer layer, PolygonRegion polygon, float x, float y, float width, float height, Color color) {
+        putPolygon(layer, polygon, x, y, width, height, 1f, 0f, color);
+    }
+
+    /**
+     * Submits a polygon drawn stretched over a rectangle rotated around its bottom left corner. Only the triangles of
+     * the polygon are shaded, rather than the whole of its region.
+     *
+     * @param layer layer to draw the polygon in
+     * @param polygon polygon to draw
+     * @param x horizontal position of the corner the rectangle is rotated around
+     * @param y vertical position of the corner the rectangle is rotated around
+     * @param width width of the rectangle before it is rotated
+     * @param height height of the rectangle before it is rotated
+     * @param rotation counter-clockwise rotation of the rectangle, in degrees
+     * @param color tint of the polygon
+     */
+    public void draw(Layer layer,
+                     PolygonRegion polygon,
+                     float x,
+                     float y,
+                     float width,
+                     float height,
+                     float rotation,
+                     Color color) {
+        putPolygon(layer, polygon, x, y, width, height, MathUtils.cosDeg(rotation), MathUtils.sinDeg(rotation), color);
+    }
+
+    /**
+     * Submits quads which have already been built. The vertices are copied, so they may be changed once submitted.
+     *
+     * @param layer layer to draw the quads in
+     * @param texture texture the quads are mapped to
+     * @param vertices vertices of the quads, in the format expected by {@code SpriteBatch}
+     * @param offset position of the first vertex in {@code vertices}
+     * @param count number of values in {@code vertices} to draw, a multiple of the size of a quad
+     */
+    public void draw(Layer layer, Texture texture, float[] vertices, int offset, int count) {
+        if (count % QUAD_SIZE != 0)
+            throw new IllegalArgumentException("vertices must describe whole quads");
+        if (count == 0)
+            return;
+
+        ensureVertexCapacity(count);
+        final int command = addCommand(layer, texture, null);
+        mCommandOffsets[command] = mVertexCount;
+        mCommandCounts[command] = count;
+        System.arraycopy(vertices, offset, mVertices, mVertexCount, count);
+        mVertexCount += count;
+    }
+
+    /**
+     * Submits an object which draws itself, such as text which needs the state set by its layer.
+     *
+     * @param layer layer to draw the object in
+     * @param drawable object to draw
+     */
+    public void draw(Layer layer, Drawable drawable) {
+        addCommand(layer, null, drawable);
+    }
+
+    /**
+     * Draws every command submitted since the last flush, then empties the queue.
+     *
+     * @param spriteBatch graphics context to draw to, between calls to {@code begin()} and {@code end()}
+     */
+    public void flush(SpriteBatch spriteBatch) {
+        Arrays.sort(mCommandKeys, 0, mCommandCount);
+
+        Layer currentLayer = null;
+        for (int i = 0; i < mCommandCount; i++) {
+            final long key = mCommandKeys[i];
+            final Layer layer = Layer.LAYERS[(int) (key >>> LAYER_SHIFT)];
+            if (layer != currentLayer) {
+                if (currentLayer != null && currentLayer.isText())
+                    FontManager.endText(spriteBatch);
+                beginLayer(spriteBatch, layer);
+                currentLayer = layer;
+            }
+
+            final int command = (int) (key & COMMAND_MASK);
+            if (mCommandDrawables[command] != null)
+                mCommandDrawables[command].draw(spriteBatch);
+            else
+                spriteBatch.draw(mTextures[(int) ((key >>> TEXTURE_SHIFT) & 0xffff)],
+                        mVertices,
+                        mCommandOffsets[command],
+                        mCommandCounts[command]);
+        }
+
+        if (currentLayer != null && currentLayer.isText())
+            FontManager.endText(spriteBatch);
+        spriteBatch.enableBlending();
+        clear();
+    }
+
+    /**
+     * Sets the state of {@code spriteBatch} to draw a layer.
+     *
+     * @param spriteBatch graphics context to draw to
+     * @param layer layer which will be drawn
+     */
+    private static void beginLayer(SpriteBatch spriteBatch, Layer layer) {
+        if (layer.isOpaque())
+            spriteBatch.disableBlending();
+        else
+            spriteBatch.enableBlending();
+        if (layer.isText())
+            FontManager.beginText(spriteBatch);
+    }
+
+    /**
+     * Discards every command without drawing it, and releases references to the textures and objects submitted.
+     */
+    public void clear() {
+        Arrays.fill(mTextures, 0, mTextureCount, null);
+        Arrays.fill(mCommandDrawables, 0, mCommandCount, null);
+        mTextureCount = 0;
+        mCommandCount = 0;
+        mVertexCount = 0;
+    }
+
+    /**
+     * Reserves space for a single quad, merging it into the previous command if it has the same layer and texture.
+     *
+     * @param layer layer to draw the quad in
+     * @param texture texture the quad is mapped to
+     * @return position in {@code mVertices} to write the quad at
+     */
+    private int reserveQuad(Layer layer, Texture texture) {
+        ensureVertexCapacity(QUAD_SIZE);
+        final int idx = mVertexCount;
+        mVertexCount += QUAD_SIZE;
+
+        if (mCommandCount > 0) {
+            final int previous = mCommandCount - 1;
+            final long previousKey = mCommandKeys[previous];
+            if (mCommandDrawables[previous] == null
+                    && (int) (previousKey >>> LAYER_SHIFT) == layer.ordinal()
+                    && mTextures[(int) ((previousKey >>> TEXTURE_SHIFT) & 0xffff)] == texture
+                    && mCommandOffsets[previous] + mCommandCounts[previous] == idx) {
+                mCommandCounts[previous] += QUAD_SIZE;
+                return idx;
+            }
+        }
+
+        final int command = addCommand(layer, texture, null);
+        mCommandOffsets[command] = idx;
+        mCommandCounts[command] = QUAD_SIZE;
+        return idx;
+    }
+
+    /**
+     * Adds a command to the queue.
+     *
+     * @param layer layer to draw the command in
+     * @param texture texture of the command, or {@code null} if it draws itself
+     * @param drawable object which draws the command, or {@code null} if it is described by vertices
+     * @return index of the command
+     */
+    private int addCommand(Layer layer, Texture texture, Drawable drawable) {
+        if (mCommandCount == mCommandKeys.length) {
+            final int capacity = mCommandCount * 2;
+            mCommandKeys = Arrays.copyOf(mCommandKeys, capacity);
+            mCommandOffsets = Arrays.copyOf(mCommandOffsets, capacity);
+            mCommandCounts = Arrays.copyOf(mCommandCounts, capacity);
+            mCommandDrawables = Arrays.copyOf(mCommandDrawables, capacity);
+        }
+
+        final int command = mCommandCount++;
+        mCommandKeys[command] = ((long) layer.ordinal() << LAYER_SHIFT)
+                | ((long) getTextureIndex(texture) << TEXTURE_SHIFT)
+                | command;
+        mCommandDrawables[command] = drawable;
+        return command;
+    }
+
+    /**
+     * Gets the position of a texture in {@code mTextures}, adding it if it has not been used this frame.
+     *
+     * @param texture texture to find, or {@code null} for commands which draw themselves
+     * @return index of the texture, or 0 for {@code null}
+     */
+    private int getTextureIndex(Texture texture) {
+        if (texture == null)
+            return 0;
+
+        for (int i = 0; i < mTextureCount; i++) {
+            if (mTextures[i] == texture)
+                return i;
+        }
+
+        if (mTextureCount == mTextures.length)
+            mTextures = Arrays.copyOf(mTextures, mTextureCount * 2);
+        mTextures[mTextureCount] = texture;
+        return mTextureCount++;
+    }
+
+    /**
+     * Writes the triangles of a polygon as quads, since {@code SpriteBatch} can only draw quads. Consecutive triangles
+     * which share their first vertex and an edge, as in a fan, are written as one quad, and any other triangle as a
+     * quad with its last vertex repeated.
+     *
+     * @param layer layer to draw the polygon in
+     * @param polygon polygon to draw
+     * @param x horizontal position of the bottom left corner of the polygon's region
+     * @param y vertical position of the bottom left corner of the polygon's region
+     * @param width width to stretch the polygon's region to
+     * @param height height to stretch the polygon's region to
+     * @param cos cosine of the rotation of the polygon around its bottom left corner
+     * @param sin sine of the rotation of the polygon around its bottom left corner
+     * @param color tint of the polygon
+     */
+    private void putPolygon(Layer layer,
+                            PolygonRegion polygon,
+                            float x,
+                            float y,
+                            float width,
+                            float height,
+                            float cos,
+                            float sin,
+                            Color color) {
+        final Texture texture = polygon.getRegion().getTexture();
+        final short[] triangles = polygon.getTriangles();
+        final float scaleX = width / polygon.getRegion().getRegionWidth();
+        final float scaleY = height / polygon.getRegion().getRegionHeight();
+        final float packedColor = color.toFloatBits();
+
+        int triangle = 0;
+        while (triangle < triangles.length) {
+            final short first = triangles[triangle];
+            final short second = triangles[triangle + 1];
+            final short third = triangles[triangle + 2];
+            short fourth = third;
+            triangle += 3;
+            if (triangle < triangles.length && triangles[triangle] == first && triangles[triangle + 1] == third) {
+                fourth = triangles[triangle + 2];
+                triangle += 3;
+            }
+
+            final int idx = reserveQuad(layer, texture);
+            putPolygonVertex(idx, polygon, first, x, y, scaleX, scaleY, cos, sin, packedColor);
+            putPolygonVertex(idx + VERTEX_SIZE, polygon, second, x, y, scaleX, scaleY, cos, sin, packedColor);
+            putPolygonVertex(idx + VERTEX_SIZE * 2, polygon, third, x, y, scaleX, scaleY, cos, sin, packedColor);
+            putPolygonVertex(idx + VERTEX_SIZE * 3, polygon, fourth, x, y, scaleX, scaleY, cos, sin, packedColor);
+        }
+    }
+
+    /**
+     * Writes a single vertex of a polygon to {@code mVertices}, scaled and rotated into place.
+     *
+     * @param idx position in {@code mVertices} to write at
+     * @param polygon polygon the vertex belongs to
+     * @param vertex index of the vertex in the polygon
+     * @param x horizontal position of the bottom left corner of the polygon's region
+     * @param y vertical position of the bottom left corner of the polygon's region
+     * @param scaleX horizontal scale from the polygon's region to the screen
+     * @param scaleY vertical scale from the polygon's region to the screen
+     * @param cos cosine of the rotation of the polygon around its bottom left corner
+     * @param sin sine of the rotation of the polygon around its bottom left corner
+     * @param color packed color of the vertex
+     */
+    private void putPolygonVertex(int idx,
+                                  PolygonRegion polygon,
+                                  int vertex,
+                                  float x,
+                                  float y,
+                                  float scaleX,
+                                  float scaleY,
+                                  float cos,
+                                  float sin,
+                                  float color) {
+        final float localX = polygon.getVertices()[vertex * 2] * scaleX;
+        final float localY = polygon.getVertices()[vertex * 2 + 1] * scaleY;
+        putVertex(idx,
+                x + cos * localX - sin * localY,
+                y + sin * localX + cos * localY,
+                color,
+                polygon.getTextureCoords()[vertex * 2],
+                polygon.getTextureCoords()[vertex * 2 + 1]);
+    }
+
+    /**
+     * Grows {@code mVertices} if it cannot hold {@code count} more values.
+     *
+     * @param count number of values which will be added
+     */
+    private void ensureVertexCapacity(int count) {
+        if (mVertexCount + count > mVertices.length)
+            mVertices = Arrays.copyOf(mVertices, Math.max(mVertices.length * 2, mVertexCount + count));
+    }
+
+    /**
+     * Writes a single vertex to {@code mVertices}.
+     *
+     * @param idx position in {@code mVertices} to write at
+     * @param x horizontal position of the vertex
+     * @param y vertical position of the vertex
+     * @param color packed color of the vertex
+     * @param u horizontal texture coordinate
+     * @param v vertical texture coordinate
+     */
+    private void putVertex(int idx, float x, float y, float color, float u, float v) {
+        mVertices[idx] = x;
+        mVertices[idx + 1] = y;
+        mVertices[idx + 2] = color;
+        mVertices[idx + 3] = u;
+        mVertices[idx + 4] = v;
+    }
+
+    /**
+     * Objects which draw themselves directly to a {@code SpriteBatch}, rather than submitting vertices.
+     */
+    public interface Drawable {
+
+        /**
+         * Draws the object.
+         *
+         * @param spriteBatch graphics context to draw to, in the state set by the object's layer
+         */
+        void draw(SpriteBatch spriteBatch);
+    }
+
+    /**
+     * Layers of a frame, in the order they are drawn. Layers which are opaque must only contain sprites without
+     * transparent pixels, since they are drawn with blending disabled.
+     */
+    public enum Layer {
+        /** Panels of the background, which cover the screen. */
+        Background(true, false),
+        /** The ball being played. */
+        Balls(false, false),
+        /** Shadows over the ball being played. */
+        BallOverlays(false, false),
+        /** Bodies of the current walls. */
+        Walls(true, false),
+        /** Slanted edges of the current walls, which meet at the corners of the screen. */
+        WallEdges(false, false),
+        /** Bodies of the walls sliding in over the current walls. */
+        IncomingWalls(true, false),
+        /** Slanted edges of the walls sliding in over the current walls. */
+        IncomingWallEdges(false, false),
+        /** Balls of the menu buttons. */
+        Buttons(false, false),
+        /** Icons over the buttons, and other icons of the interface. */
+        Icons(false, false),
+        /** Text, drawn with the font shader. */
+        Text(false, true);
+
+        /** Every layer, cached so that flushing does not allocate. */
+        private static final Layer[] LAYERS = Layer.values();
+
+        /** Indicates if the layer is drawn with blending disabled. */
+        private final boolean mOpaque;
+        /** Indicates if the layer is drawn between {@code FontManager.beginText()} and {@code endText()}. */
+        private final boolean mText;
+
+        /**
+         * Creates a layer.
+         *
+         * @param opaque {@code true} if the layer is drawn with blending disabled
+         * @param text {@code true} if the layer is drawn with the font shader
+         */
+        Layer(boolean opaque, boolean text) {
+            mOpaque = opaque;
+            mText = text;
+        }
+
+        /**
+         * Checks if the layer is drawn with blending disabled.
+         *
+         * @return {@code true} if the layer is opaque
+         */
+        public boolean isOpaque() {
+            return mOpaque;
+        }
+
+        /**
+         * Checks if the layer is drawn with the font shader.
+         *
+         * @return {@code true} if the layer contains text
+         */
+        public boolean isText() {
+            return mText;
+        }
+    }
+}
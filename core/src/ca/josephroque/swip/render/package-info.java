@@ -0,0 +1,4 @@
+/**
+ * Collects what a frame draws and submits it to the GPU in an order which minimizes state changes.
+ */
+package ca.josephroque.swip.render;
@@ -1,5 +1,6 @@
 package ca.josephroque.swip.screen;
 
+import ca.josephroque.swip.assets.SplitAlphaShader;
 import ca.josephroque.swip.input.GameInputProcessor;
 import ca.josephroque.swip.manager.BackgroundManager;
 import ca.josephroque.swip.manager.FontManager;
@@ -7,11 +8,19 @@ import ca.josephroque.swip.manager.GameManager;
 import ca.josephroque.swip.manager.MenuManager;
 import ca.josephroque.swip.manager.MusicManager;
 import ca.josephroque.swip.manager.TextureManager;
+import ca.josephroque.swip.manager.TextureResidency;
+import ca.josephroque.swip.render.FrameProfiler;
+import ca.josephroque.swip.render.FrameProfilerOverlay;
+import ca.josephroque.swip.render.RenderQueue;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -25,6 +34,24 @@ public class GameScreen
     @SuppressWarnings("unused")
     private static final String TAG = "GameScreen";
 
+    /** Number of seconds the game logic advances by in a single tick. */
+    private static final float TICK_LENGTH = 1 / 120f;
+    /** Most ticks which will be run in one frame to catch up, so slow frames cannot cause more slow frames. */
+    private static final int MAXIMUM_TICKS_PER_FRAME = 8;
+    /** Number of nanoseconds in a second. */
+    private static final float NANOSECONDS_PER_SECOND = 1000000000f;
+    /** Number of sprites the sprite batch can hold before it must flush, which is its default size. */
+    private static final int SPRITE_BATCH_SIZE = 1000;
+
+    /** Number of milliseconds each frame may spend loading assets while the boot frame is displayed. */
+    private static final int BOOT_LOADING_TIME_PER_FRAME = 12;
+    /** Width of the boot frame's progress bar relative to the screen. */
+    private static final float BOOT_PROGRESS_WIDTH = 0.6f;
+    /** Height of the boot frame's progress bar relative to the smaller dimension of the screen. */
+    private static final float BOOT_PROGRESS_HEIGHT = 0.02f;
+    /** Distance of the frame profiler overlay from the top left corner of the screen, in pixels. */
+    private static final float PROFILER_OVERLAY_MARGIN = 8f;
+
     /** Width of the screen. */
     private static int sScreenWidth;
     /** Height of the screen. */
@@ -32,6 +59,10 @@ public class GameScreen
 
     /** Allows rendering of graphics on the screen. */
     private SpriteBatch mSpriteBatch;
+    /** Shader the sprite batch draws with by default, or {@code null} if it uses its own. */
+    private ShaderProgram mSpriteShader;
+    /** Collects what is drawn each frame, to draw it with as few state changes as possible. */
+    private final RenderQueue mRenderQueue = new RenderQueue();
     /** Primary camera of the game. */
     private OrthographicCamera mPrimaryCamera;
     /** Default viewport of the game. */
@@ -45,8 +76,21 @@ public class GameScreen
     /** State of the application prior to it being paused. */
     private GameState mPausedState;
 
+    /** Loads the assets of the application in the background and owns them once loaded. */
+    private AssetManager mAssetManager;
+    /** Draws the boot frame while assets are loading. */
+    private ShapeRenderer mBootRenderer;
+    /** Indicates if every asset has been loaded and the game and menus have been set up. */
+    private boolean mAssetsLoaded;
+
+    /** Resolution of the textures loaded for this screen. */
+    private TextureManager.Variant mTextureVariant;
+    /** Format of the textures loaded for this screen. */
+    private TextureManager.TextureFormat mTextureFormat;
     /** Handles loading and unloading textures. */
     private TextureManager mTextureManager;
+    /** Keeps only the textures needed by the current state, and the states which may follow it, loaded. */
+    private TextureResidency mTextureResidency;
     /** Handles game logic and rendering. */
     private GameManager mGameManager;
     /** Handles main menu events and rendering. */
@@ -54,6 +98,16 @@ public class GameScreen
     /** Handles drawing of the background panels of the game. */
     private BackgroundManager mBackgroundManager;
 
+    /** Indicates if the last frame stopped continuous rendering because nothing on screen was animating. */
+    private boolean mRenderingOnDemand;
+    /** Number of seconds which have passed that have not yet been simulated by a tick. */
+    private float mTickAccumulator;
+
+    /** Counts what each frame asks of the GPU, or {@code null} if frames are not profiled. */
+    private final FrameProfiler mFrameProfiler;
+    /** Draws the counts of the last frame over the game, or {@code null} if frames are not profiled. */
+    private FrameProfilerOverlay mFrameProfilerOverlay;
+
     /** The most recent score the user obtained in the game. */
     private int mMostRecentScore;
     /** The highest score the user has obtained in the game, ever. */
@@ -113,15 +167,65 @@ public class GameScreen
         }
     };
 
+    /**
+     * Creates the screen.
+     *
+     * @param profileFrames {@code true} to count what each frame asks of the GPU and draw the counts over the game,
+     * which slows every GL call, so should only be enabled in debug builds
+     */
+    public GameScreen(boolean profileFrames) {
+        mFrameProfiler = (profileFrames)
+                ? new FrameProfiler()
+                : null;
+    }
+
     @Override
     public void render(float delta) {
+        if (!mAssetsLoaded) {
+            if (!mAssetManager.update(BOOT_LOADING_TIME_PER_FRAME)) {
+                drawBootFrame(mAssetManager.getProgress());
+                return;
+            }
+            onAssetsLoaded();
+        }
+        if (mFrameProfiler != null)
+            mFrameProfiler.beginFrame();
+        mTextureResidency.update();
+
+        // Time spent idle between requested frames should not advance animations, but the input which requested
+        // the frame must still be handled by a tick
+        if (mRenderingOnDemand) {
+            mTickAccumulator = 0;
+            delta = TICK_LENGTH;
+        }
+
         mPrimaryCamera.update();
-        tick(delta);
 
-        // Clear the screen to white
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
-        draw();
+        // Game logic advances in fixed ticks, independent of the frame rate
+        mTickAccumulator += delta;
+        final int ticks = Math.min(MAXIMUM_TICKS_PER_FRAME, (int) (mTickAccumulator / TICK_LENGTH));
+        final long frameTime = TimeUtils.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            mTickAccumulator -= TICK_LENGTH;
+
+            // Each tick replays the input which occurred before the moment it simulates, and the last tick of the
+            // frame replays the rest
+            mGameInput.processEvents((i == ticks - 1)
+                    ? Long.MAX_VALUE
+                    : frameTime - (long) (mTickAccumulator * NANOSECONDS_PER_SECOND));
+            tick(TICK_LENGTH);
+        }
+        if (ticks == MAXIMUM_TICKS_PER_FRAME)
+            mTickAccumulator = Math.min(mTickAccumulator, TICK_LENGTH);
+
+        // Clear the screen to white, unless the background will be drawn over every pixel anyway
+        if (!mBackgroundManager.coversScreen()) {
+            Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        }
+        draw(mTickAccumulator / TICK_LENGTH);
+
+        updateRenderingMode();
     }
 
     @Override
@@ -130,23 +234,51 @@ public class GameScreen
         sScreenHeight = Gdx.graphics.getHeight();
 
         // Setting up the game rendering
+        if (mFrameProfiler != null)
+            mFrameProfiler.enable();
         mPrimaryCamera = new OrthographicCamera();
         mPrimaryCamera.translate(sScreenWidth / 2, sScreenHeight / 2);
         mPrimaryCamera.setToOrtho(false, sScreenWidth, sScreenHeight);
         mPrimaryViewport = new ScreenViewport(mPrimaryCamera);
         mPrimaryViewport.apply();
 
-        // Preparing UI objects
-        mSpriteBatch = new SpriteBatch();
+        // Preparing UI objects, with a shader which can draw the format of textures the device supports
+        mTextureFormat = TextureManager.TextureFormat.detect();
+        mSpriteShader = (mTextureFormat.hasSplitAlpha())
+                ? SplitAlphaShader.create()
+                : null;
+        mSpriteBatch = new SpriteBatch(SPRITE_BATCH_SIZE, mSpriteShader);
 
         // Creating gesture handler
         mGameInput = new GameInputProcessor();
         Gdx.input.setInputProcessor(mGameInput);
 
-        // Loading assets
-        mTextureManager = new TextureManager();
-        MusicManager.initialize(MusicManager.BackgroundTrack.One);
-        FontManager.initialize();
+        // Loading assets in the background while the boot frame is displayed
+        mAssetManager = new AssetManager();
+        mTextureVariant = TextureManager.Variant.select(sScreenWidth, sScreenHeight);
+        TextureManager.queueAssets(mAssetManager,
+                mTextureVariant,
+                mTextureFormat,
+                TextureResidency.getScope(GameState.MainMenu));
+        MusicManager.queueAssets(mAssetManager, MusicManager.BackgroundTrack.One);
+        FontManager.queueAssets(mAssetManager);
+        mBootRenderer = new ShapeRenderer();
+    }
+
+    /**
+     * Sets up the game and menus once every asset has been loaded.
+     */
+    private void onAssetsLoaded() {
+        mAssetsLoaded = true;
+        mBootRenderer.dispose();
+        mBootRenderer = null;
+
+        mTextureManager = new TextureManager(mAssetManager, mTextureVariant);
+        mTextureResidency = new TextureResidency(mAssetManager, mTextureManager);
+        MusicManager.initialize(mAssetManager, MusicManager.BackgroundTrack.One);
+        FontManager.initialize(mAssetManager, sScreenWidth, sScreenHeight);
+        if (mFrameProfiler != null)
+            mFrameProfilerOverlay = new FrameProfilerOverlay(mFrameProfiler);
 
         // Setting up the game and menu
         mGameManager = new GameManager(mGameCallback, mTextureManager);
@@ -157,6 +289,30 @@ public class GameScreen
         setState(GameState.MainMenu);
     }
 
+    /**
+     * Draws a progress bar while assets are loading, using no assets of its own.
+     *
+     * @param progress fraction of the assets which have been loaded, from 0 to 1
+     */
+    private void drawBootFrame(float progress) {
+        Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        final float barWidth = sScreenWidth * BOOT_PROGRESS_WIDTH;
+        final float barHeight = Math.min(sScreenWidth, sScreenHeight) * BOOT_PROGRESS_HEIGHT;
+        final float barX = (sScreenWidth - barWidth) / 2;
+        final float barY = (sScreenHeight - barHeight) / 2;
+
+        mPrimaryCamera.update();
+        mBootRenderer.setProjectionMatrix(mPrimaryCamera.combined);
+        mBootRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        mBootRenderer.setColor(0.85f, 0.85f, 0.85f, 1f);
+        mBootRenderer.rect(barX, barY, barWidth, barHeight);
+        mBootRenderer.setColor(0.25f, 0.25f, 0.25f, 1f);
+        mBootRenderer.rect(barX, barY, barWidth * progress, barHeight);
+        mBootRenderer.end();
+    }
+
     @Override
     public void hide() {
         dispose();
@@ -178,32 +334,52 @@ public class GameScreen
         sScreenWidth = width;
         sScreenHeight = height;
         mPrimaryViewport.update(width, height);
+        if (!mAssetsLoaded)
+            return;
+
         mGameManager.resize(width, height);
+        mBackgroundManager.resize(width, height);
     }
 
     @Override
     public void dispose() {
         // Disposes resources being used by instances
         mSpriteBatch.dispose();
-        mTextureManager.dispose();
-        mGameManager.dispose();
-        mMenuManager.dispose();
-        mBackgroundManager.dispose();
-        MusicManager.dispose();
-        FontManager.dispose();
+        if (mSpriteShader != null)
+            mSpriteShader.dispose();
+        if (mAssetsLoaded) {
+            mTextureResidency.dispose();
+            mTextureManager.dispose();
+            mGameManager.dispose();
+            mMenuManager.dispose();
+            mBackgroundManager.dispose();
+            MusicManager.dispose();
+            FontManager.dispose();
+        } else {
+            mBootRenderer.dispose();
+        }
+        mAssetManager.dispose();
 
         // Removes references
         mSpriteBatch = null;
+        mSpriteShader = null;
+        mAssetManager = null;
+        mBootRenderer = null;
+        mAssetsLoaded = false;
         mGameManager = null;
         mMenuManager = null;
         mTextureManager = null;
+        mTextureResidency = null;
         mBackgroundManager = null;
+        mFrameProfilerOverlay = null;
+        if (mFrameProfiler != null)
+            mFrameProfiler.disable();
     }
 
     /**
-     * Updates the game's objects.
+     * Updates the game's objects by a single tick.
      *
-     * @param delta number of seconds the last rendering took
+     * @param delta number of seconds to advance by
      */
     private void tick(float delta) {
         switch (mGameState) {
@@ -222,23 +398,52 @@ public class GameScreen
                 throw new IllegalStateException("invalid game state.");
         }
 
+        MusicManager.tick(delta);
+
         // Clear up input
         mGameInput.tick();
     }
 
     /**
-     * Draws the game to the screen.
+     * Stops continuous rendering while a menu is displayed and nothing on screen is animating, so idle menus do not
+     * redraw at the display refresh rate. Frames are requested again by input or changes in state, and continuous
+     * rendering resumes as soon as an animation begins.
      */
-    private void draw() {
-        mSpriteBatch.setProjectionMatrix(mPrimaryCamera.combined);
-        mSpriteBatch.begin();
+    private void updateRenderingMode() {
+        final boolean animating;
+        switch (mGameState) {
+            case GameStarting:
+            case GamePlaying:
+                animating = true;
+                break;
+            case MainMenu:
+            case GamePaused:
+            case Ended:
+                // Walls are not updated in these states, so only the menu and music can change. Frames continue while
+                // textures for the next state are prefetched, since loading is finished on the rendering thread
+                animating = mMenuManager.isAnimating() || MusicManager.isFading() || mTextureResidency.isLoading();
+                break;
+            default:
+                throw new IllegalStateException("invalid game state.");
+        }
 
-        mBackgroundManager.draw(mSpriteBatch);
-        mGameManager.draw(mGameState, mSpriteBatch);
+        mRenderingOnDemand = !animating;
+        if (Gdx.graphics.isContinuousRendering() != animating)
+            Gdx.graphics.setContinuousRendering(animating);
+    }
+
+    /**
+     * Draws the game to the screen.
+     *
+     * @param interpolation fraction of a tick which has passed since the last tick, used to smooth movement
+     */
+    private void draw(float interpolation) {
+        mBackgroundManager.draw(mRenderQueue);
+        mGameManager.draw(mGameState, mRenderQueue, interpolation);
 
         switch (mGameState) {
             case MainMenu:
-                mMenuManager.draw(mGameState, mSpriteBatch);
+                mMenuManager.draw(mGameState, mRenderQueue);
                 break;
             case GameStarting:
             case GamePlaying:
@@ -250,7 +455,20 @@ public class GameScreen
                 throw new IllegalStateException("invalid game state.");
         }
 
+        mSpriteBatch.setProjectionMatrix(mPrimaryCamera.combined);
+        mSpriteBatch.begin();
+        mRenderQueue.flush(mSpriteBatch);
         mSpriteBatch.end();
+
+        // The overlay is drawn after the frame is counted, so it does not count itself
+        if (mFrameProfiler != null) {
+            mFrameProfiler.endFrame(mGameState, mSpriteBatch);
+            mSpriteBatch.begin();
+            mFrameProfilerOverlay.draw(mSpriteBatch,
+                    PROFILER_OVERLAY_MARGIN,
+                    sScreenHeight - PROFILER_OVERLAY_MARGIN);
+            mSpriteBatch.end();
+        }
     }
 
     /**
@@ -293,8 +511,10 @@ public class GameScreen
         if (newState == GameState.GamePaused)
             mPausedState = mGameState;
         mGameState = newState;
+        mTextureResidency.enterState(newState);
 
         resetMenuIfShown();
+        Gdx.graphics.requestRendering();
     }
 
     /**
@@ -315,6 +535,24 @@ public class GameScreen
         return sScreenHeight;
     }
 
+    /**
+     * Gets the current state of the application.
+     *
+     * @return the current state, or {@code null} while assets are loading
+     */
+    public GameState getGameState() {
+        return mGameState;
+    }
+
+    /**
+     * Gets the counts of the frames drawn by this screen.
+     *
+     * @return the frame profiler, or {@code null} if frames are not profiled
+     */
+    public FrameProfiler getFrameProfiler() {
+        return mFrameProfiler;
+    }
+
     /**
      * Possible states of the application.
      */
@@ -328,6 +566,18 @@ public class GameScreen
         /** Represents the game being in a paused state. */
         GamePaused,
         /** Represents the game being over. */
-        Ended,
+        Ended;
+
+        /** Size of the enum. */
+        private static final int SIZE = GameState.values().length;
+
+        /**
+         * Gets the size of the enum.
+         *
+         * @return number of {@code GameState}
+         */
+        public static int getSize() {
+            return SIZE;
+        }
     }
 }
@@ -0,0 +1,168 @@
+package ca.josephroque.swip.text;
+
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * A non-negative number which is drawn without ever building a {@code String}. Each digit is laid out once, when
+ * created, into a table of glyph quads. When the number or its position changes, the quads of its digits are copied
+ * from the table into place, and the number is otherwise drawn from the same vertices every frame.
+ */
+public class NumberText
+        implements RenderQueue.Drawable {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "NumberText";
+
+    /** Every digit, in order, so each can be laid out from the same string. */
+    private static final String DIGITS = "0123456789";
+    /** Number of digits in the largest {@code int}. */
+    private static final int MAXIMUM_DIGITS = 10;
+    /** Reserves a glyph quad in the cache for every digit of the largest {@code int}. */
+    private static final String DIGIT_SLOTS = "0000000000";
+    /** Number of base 10 digits. */
+    private static final int BASE = 10;
+
+    /** Number of floats describing each vertex of a glyph: position, color and texture coordinates. */
+    private static final int VERTEX_SIZE = 5;
+    /** Number of floats describing each glyph quad. */
+    private static final int GLYPH_SIZE = VERTEX_SIZE * 4;
+
+    /** Glyph vertices of the number. */
+    private final BitmapFontCache mCache;
+    /** Quad of each digit when its cursor is at the origin, indexed by digit. */
+    private final float[][] mDigitGlyphs = new float[BASE][];
+    /** Horizontal offset of each digit from the cursor, indexed by digit. */
+    private final float[] mDigitOffsets = new float[BASE];
+    /** Distance from each digit to the next, indexed by digit. */
+    private final float[] mDigitAdvances = new float[BASE];
+
+    /** Digits of the number, most significant first. */
+    private final int[] mDigits = new int[MAXIMUM_DIGITS];
+    /** Number of digits in the number. */
+    private int mDigitCount;
+    /** Number which is drawn. */
+    private int mValue = -1;
+
+    /** Left edge of the number. */
+    private float mX;
+    /** Top of the number. */
+    private float mY;
+    /** Indicates if the number or its position have changed since the vertices were last built. */
+    private boolean mInvalidated;
+
+    /**
+     * Lays out the digits with the current scale and color of {@code font}. The number is initially 0.
+     *
+     * @param font font to draw the number with
+     * @throws IllegalArgumentException if the font's glyphs are spread across more than one page
+     */
+    public NumberText(BitmapFont font) {
+        if (font.getRegions().size != 1)
+            throw new IllegalArgumentException("Numbers can only be drawn from a font with a single page");
+
+        mCache = font.newFontCache();
+        for (int digit = 0; digit < BASE; digit++) {
+            mCache.setText(DIGITS, 0, 0, digit, digit + 1, 0, Align.left, false);
+            mDigitGlyphs[digit] = new float[GLYPH_SIZE];
+            System.arraycopy(mCache.getVertices(0), 0, mDigitGlyphs[digit], 0, GLYPH_SIZE);
+
+            // The first glyph of a line is laid out without its offset, so it is added back for digits which follow
+            BitmapFont.Glyph glyph = font.getData().getGlyph(DIGITS.charAt(digit));
+            mDigitOffsets[digit] = glyph.xoffset * font.getScaleX();
+            mDigitAdvances[digit] = glyph.xadvance * font.getScaleX();
+            for (int vertex = 0; vertex < GLYPH_SIZE; vertex += VERTEX_SIZE)
+                mDigitGlyphs[digit][vertex] += mDigitOffsets[digit];
+        }
+
+        mCache.setText(DIGIT_SLOTS, 0, 0);
+        setValue(0);
+    }
+
+    /**
+     * Changes the number which is drawn. Does nothing if the number has not changed.
+     *
+     * @param value new number
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public void setValue(int value) {
+        if (value == mValue)
+            return;
+        if (value < 0)
+            throw new IllegalArgumentException("Only non-negative numbers can be drawn");
+
+        mValue = value;
+        mDigitCount = 0;
+        do {
+            mDigits[mDigitCount++] = value % BASE;
+            value /= BASE;
+        } while (value > 0);
+
+        // Digits were found least significant first
+        for (int i = 0; i < mDigitCount / 2; i++) {
+            final int digit = mDigits[i];
+            mDigits[i] = mDigits[mDigitCount - i - 1];
+            mDigits[mDigitCount - i - 1] = digit;
+        }
+        mInvalidated = true;
+    }
+
+    /**
+     * Moves the number. Does nothing if the number is already at the position.
+     *
+     * @param x left edge of the number
+     * @param y top of the number
+     */
+    public void setPosition(float x, float y) {
+        if (x == mX && y == mY)
+            return;
+
+        mX = x;
+        mY = y;
+        mInvalidated = true;
+    }
+
+    /**
+     * Draws the number to the screen.
+     *
+     * @param spriteBatch graphics context to draw to
+     */
+    @Override
+    public void draw(SpriteBatch spriteBatch) {
+        if (mInvalidated)
+            buildVertices();
+        mCache.draw(spriteBatch, 0, mDigitCount);
+    }
+
+    /**
+     * Copies the quad of each digit from the table into the cache, moved into place.
+     */
+    private void buildVertices() {
+        final float[] vertices = mCache.getVertices(0);
+        float cursor = mX - mDigitOffsets[mDigits[0]];
+        for (int i = 0; i < mDigitCount; i++) {
+            final float[] glyph = mDigitGlyphs[mDigits[i]];
+            final int offset = i * GLYPH_SIZE;
+
+            // Fonts which use integer positions have the corner of each glyph rounded, rather than each vertex
+            float translationX = cursor;
+            float translationY = mY;
+            if (mCache.usesIntegerPositions()) {
+                translationX = Math.round(glyph[0] + cursor) - glyph[0];
+                translationY = Math.round(glyph[1] + mY) - glyph[1];
+            }
+
+            for (int vertex = 0; vertex < GLYPH_SIZE; vertex += VERTEX_SIZE) {
+                vertices[offset + vertex] = glyph[vertex] + translationX;
+                vertices[offset + vertex + 1] = glyph[vertex + 1] + translationY;
+                System.arraycopy(glyph, vertex + 2, vertices, offset + vertex + 2, VERTEX_SIZE - 2);
+            }
+            cursor += mDigitAdvances[mDigits[i]];
+        }
+        mInvalidated = false;
+    }
+}
@@ -0,0 +1,77 @@
+package ca.josephroque.swip.text;
+
+import ca.josephroque.swip.render.RenderQueue;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Text which never changes. It is laid out once, when created, and only its vertices are moved if its position
+ * changes.
+ */
+public class StaticText
+        implements RenderQueue.Drawable {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "StaticText";
+
+    /** Glyph vertices of the text. */
+    private final BitmapFontCache mCache;
+    /** Width of the laid out text. */
+    private final float mWidth;
+    /** Height of the laid out text. */
+    private final float mHeight;
+
+    /**
+     * Lays out a line of text with the current scale and color of {@code font}.
+     *
+     * @param font font to draw the text with
+     * @param text text to draw
+     */
+    public StaticText(BitmapFont font, CharSequence text) {
+        mCache = font.newFontCache();
+        GlyphLayout layout = mCache.setText(text, 0, 0);
+        mWidth = layout.width;
+        mHeight = layout.height;
+    }
+
+    /**
+     * Moves the text. Does nothing if the text is already at the position.
+     *
+     * @param x left edge of the text
+     * @param y top of the text
+     */
+    public void setPosition(float x, float y) {
+        mCache.setPosition(x, y);
+    }
+
+    /**
+     * Gets the width of the text.
+     *
+     * @return width of the text
+     */
+    public float getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * Gets the height of the text.
+     *
+     * @return height of the text
+     */
+    public float getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * Draws the text to the screen.
+     *
+     * @param spriteBatch graphics context to draw to
+     */
+    @Override
+    public void draw(SpriteBatch spriteBatch) {
+        mCache.draw(spriteBatch);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Text which is laid out once and drawn every frame without allocating.
+ */
+package ca.josephroque.swip.text;
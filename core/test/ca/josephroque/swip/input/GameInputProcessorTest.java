@@ -0,0 +1,137 @@
+package ca.josephroque.swip.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.utils.TimeUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that touch events are replayed in the ticks they were captured during, rather than in the tick which was
+ * running when they were dispatched.
+ */
+public class GameInputProcessorTest {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameInputProcessorTest";
+
+    /** Number of times the finger is dragged in a single frame. */
+    private static final int DRAGS = 8;
+    /** Number of pixels the finger moves with each drag. */
+    private static final int DRAG_STEP = 24;
+    /** Number of nanoseconds between the capture of each drag, which is the interval of a 240 Hz touch screen. */
+    private static final long DRAG_INTERVAL = 4166667L;
+    /** Number of nanoseconds the game logic advances by in a single tick, the same as {@code GameScreen}. */
+    private static final long TICK_INTERVAL = 8333333L;
+    /** X location the finger is placed at. */
+    private static final int START_X = 100;
+    /** Y location the finger is placed at. */
+    private static final int START_Y = 200;
+
+    /** Backend input, which reports the scripted capture time of each event. */
+    private ScriptedInput mInput;
+    /** Processor under test. */
+    private GameInputProcessor mGameInput;
+
+    /**
+     * Installs a backend which reports scripted capture times.
+     */
+    @Before
+    public void setUp() {
+        Gdx.graphics = new MockGraphics();
+        mInput = new ScriptedInput();
+        Gdx.input = mInput;
+        mGameInput = new GameInputProcessor();
+    }
+
+    /**
+     * A frame of drags, dispatched together after they were all captured, is spread across the ticks which simulate
+     * the moments they were captured at.
+     */
+    @Test
+    public void dragsOfOneFrameAreReplayedInTheTicksTheyWereCapturedDuring() {
+        final long startTime = TimeUtils.nanoTime() - DRAGS * DRAG_INTERVAL;
+        dragOneFrame(startTime);
+
+        int tick = 0;
+        for (long tickTime = startTime; tickTime <= startTime + DRAGS * DRAG_INTERVAL; tickTime += TICK_INTERVAL) {
+            mGameInput.processEvents(tickTime);
+            final int expectedDrags = (int) ((tickTime - startTime) / DRAG_INTERVAL);
+            assertEquals("finger after tick " + tick, START_X + expectedDrags * DRAG_STEP, mGameInput.getLastFingerX());
+            mGameInput.tick();
+            tick++;
+        }
+        assertEquals(DRAGS / 2 + 1, tick);
+    }
+
+    /**
+     * The release velocity is fit against the capture times, so drags dispatched together still have a velocity.
+     */
+    @Test
+    public void velocityIsFitAgainstCaptureTimes() {
+        dragOneFrame(TimeUtils.nanoTime() - DRAGS * DRAG_INTERVAL);
+        mGameInput.processEvents(Long.MAX_VALUE);
+
+        final float expectedVelocity = DRAG_STEP / (DRAG_INTERVAL / 1000000000f);
+        assertEquals(expectedVelocity, mGameInput.calculateFingerDragVelocity().x, expectedVelocity * 0.01f);
+    }
+
+    /**
+     * Events from a backend which does not record when they were captured are stamped when they are dispatched.
+     */
+    @Test
+    public void eventsWithoutCaptureTimesAreStampedWhenDispatched() {
+        final long beforeDispatch = TimeUtils.nanoTime();
+        mInput.setCurrentEventTime(0);
+        mGameInput.touchDown(START_X, START_Y, 0, 0);
+
+        mGameInput.processEvents(beforeDispatch - 1);
+        assertEquals(false, mGameInput.isFingerDown());
+        mGameInput.processEvents(TimeUtils.nanoTime());
+        assertEquals(true, mGameInput.isFingerDown());
+    }
+
+    /**
+     * Places a finger and drags it to the right, with each event captured {@code DRAG_INTERVAL} after the last, then
+     * dispatches every event at once, as the backend does at the start of a frame.
+     *
+     * @param startTime time in nanoseconds the finger was placed
+     */
+    private void dragOneFrame(long startTime) {
+        mInput.setCurrentEventTime(startTime);
+        mGameInput.touchDown(START_X, START_Y, 0, 0);
+        for (int i = 1; i <= DRAGS; i++) {
+            mInput.setCurrentEventTime(startTime + i * DRAG_INTERVAL);
+            mGameInput.touchDragged(START_X + i * DRAG_STEP, START_Y, 0);
+        }
+    }
+
+    /**
+     * Input which reports a scripted time for the event being handled, as a device's backend reports the time each
+     * event was captured.
+     */
+    private static final class ScriptedInput
+            extends MockInput {
+
+        /** Time in nanoseconds reported for the event being handled. */
+        private long mCurrentEventTime;
+
+        /**
+         * Sets the time reported for the events handled next.
+         *
+         * @param time time in nanoseconds the events were captured, or 0 if unknown
+         */
+        void setCurrentEventTime(long time) {
+            mCurrentEventTime = time;
+        }
+
+        @Override
+        public long getCurrentEventTime() {
+            return mCurrentEventTime;
+        }
+    }
+}
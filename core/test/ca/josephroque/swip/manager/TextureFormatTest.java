@@ -0,0 +1,73 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.manager.TextureManager.TextureFormat;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the texture format chosen for each combination of GL context capabilities.
+ */
+public class TextureFormatTest {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "TextureFormatTest";
+
+    /** Version string of an OpenGL ES 2.0 context. */
+    private static final String GL_ES_2 = "OpenGL ES 2.0";
+    /** Version string of an OpenGL ES 3.0 context, as reported by a driver with a vendor suffix. */
+    private static final String GL_ES_3 = "OpenGL ES 3.0 V@100.0";
+    /** Extensions of a context which supports neither compressed format. */
+    private static final String NO_EXTENSIONS = "GL_OES_depth24 GL_OES_rgb8_rgba8";
+    /** Extensions of a context which supports ETC1 without listing it as a compressed format. */
+    private static final String ETC1_EXTENSIONS = "GL_OES_depth24 GL_OES_compressed_ETC1_RGB8_texture";
+    /** Compressed formats of a context which lists none. */
+    private static final int[] NO_FORMATS = new int[0];
+
+    /**
+     * A context which lists ETC2 supports it, whatever its version.
+     */
+    @Test
+    public void etc2IsSelectedWhenListed() {
+        final int[] formats = {TextureFormat.GL_ETC1_RGB8_OES, TextureFormat.GL_COMPRESSED_RGBA8_ETC2_EAC};
+        assertSame(TextureFormat.Etc2, TextureFormat.select(false, GL_ES_2, NO_EXTENSIONS, formats));
+    }
+
+    /**
+     * An OpenGL ES 3.0 context must support ETC2, even if it does not list it.
+     */
+    @Test
+    public void etc2IsSelectedForGlEs3InGl30Context() {
+        assertSame(TextureFormat.Etc2, TextureFormat.select(true, GL_ES_3, NO_EXTENSIONS, NO_FORMATS));
+    }
+
+    /**
+     * A device with OpenGL ES 3.0 which created an OpenGL ES 2.0 context may reject ETC2, so the version is not
+     * trusted and the best format the context lists is chosen instead.
+     */
+    @Test
+    public void glEs3InGl20ContextFallsBack() {
+        assertSame(TextureFormat.Etc1, TextureFormat.select(false, GL_ES_3, ETC1_EXTENSIONS, NO_FORMATS));
+        assertSame(TextureFormat.Png, TextureFormat.select(false, GL_ES_3, NO_EXTENSIONS, NO_FORMATS));
+    }
+
+    /**
+     * A context with only the ETC1 extension, or only ETC1 listed, gets ETC1.
+     */
+    @Test
+    public void etc1IsSelectedWhenOnlyEtc1IsSupported() {
+        assertSame(TextureFormat.Etc1, TextureFormat.select(false, GL_ES_2, ETC1_EXTENSIONS, NO_FORMATS));
+        assertSame(TextureFormat.Etc1,
+                TextureFormat.select(false, GL_ES_2, NO_EXTENSIONS, new int[]{TextureFormat.GL_ETC1_RGB8_OES}));
+    }
+
+    /**
+     * A context which supports no compressed format, or does not report its capabilities, gets PNG.
+     */
+    @Test
+    public void pngIsSelectedWhenNothingIsSupported() {
+        assertSame(TextureFormat.Png, TextureFormat.select(false, GL_ES_2, NO_EXTENSIONS, NO_FORMATS));
+        assertSame(TextureFormat.Png, TextureFormat.select(true, null, null, NO_FORMATS));
+    }
+}
@@ -0,0 +1,92 @@
+package ca.josephroque.swip.tools;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.backends.headless.HeadlessFileHandle;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+
+/**
+ * Files of the headless backend, with internal files read from the game's assets instead of the working directory.
+ * Tools which run the game install it as {@code Gdx.files} and run from a build directory, so files the game writes
+ * to local storage, such as the texture cache, are never written to {@code android/assets}, which is packaged into
+ * the APK.
+ */
+public final class AssetFiles
+        implements Files {
+
+    /** Identifies output from this class. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "AssetFiles";
+
+    /** Files of the headless backend, which every type of file but internal files is resolved by. */
+    private final HeadlessFiles mFiles = new HeadlessFiles();
+    /** Directory internal files are read from. */
+    private final File mAssetsDirectory;
+
+    /**
+     * Creates files which read internal files from a directory.
+     *
+     * @param assetsDirectory directory of the game's assets
+     */
+    public AssetFiles(File assetsDirectory) {
+        mAssetsDirectory = assetsDirectory;
+    }
+
+    @Override
+    public FileHandle getFileHandle(String path, FileType type) {
+        return (type == FileType.Internal)
+                ? internal(path)
+                : mFiles.getFileHandle(path, type);
+    }
+
+    @Override
+    public FileHandle classpath(String path) {
+        return mFiles.classpath(path);
+    }
+
+    @Override
+    public FileHandle internal(String path) {
+        // Paths built from other internal files, such as the pages named by a font, are already in the assets
+        final File file = new File(path);
+        return new HeadlessFileHandle((file.isAbsolute())
+                ? file
+                : new File(mAssetsDirectory, path), FileType.Internal);
+    }
+
+    @Override
+    public FileHandle external(String path) {
+        return mFiles.external(path);
+    }
+
+    @Override
+    public FileHandle absolute(String path) {
+        return mFiles.absolute(path);
+    }
+
+    @Override
+    public FileHandle local(String path) {
+        return mFiles.local(path);
+    }
+
+    @Override
+    public String getExternalStoragePath() {
+        return mFiles.getExternalStoragePath();
+    }
+
+    @Override
+    public boolean isExternalStorageAvailable() {
+        return mFiles.isExternalStorageAvailable();
+    }
+
+    @Override
+    public String getLocalStoragePath() {
+        return mFiles.getLocalStoragePath();
+    }
+
+    @Override
+    public boolean isLocalStorageAvailable() {
+        return mFiles.isLocalStorageAvailable();
+    }
+}
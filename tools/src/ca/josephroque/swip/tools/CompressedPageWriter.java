@@ -0,0 +1,454 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.manager.TextureManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a copy of every page of a packed atlas in each compressed {@code TextureManager.TextureFormat}, alongside
+ * the PNG page. Pages are written as zipped KTX files with every mip level the page's filter requires, since
+ * compressed textures cannot generate their own. ETC1 pages store the alpha channel as a gray image below the colors,
+ * and ETC2 pages store it in an EAC block before the color block. The colors of both are encoded as ETC1, which is a
+ * subset of ETC2.
+ */
+final class CompressedPageWriter {
+
+    /** Identifier at the start of every KTX file. */
+    private static final byte[] KTX_IDENTIFIER = {
+            (byte) 0xab, 0x4b, 0x54, 0x58, 0x20, 0x31, 0x31, (byte) 0xbb, 0x0d, 0x0a, 0x1a, 0x0a
+    };
+    /** Value written in the byte order of the file, so a reader can detect it. */
+    private static final int KTX_ENDIANNESS = 0x04030201;
+    /** Number of bytes in a KTX header after the identifier. */
+    private static final int KTX_HEADER_SIZE = 13 * 4;
+
+    /** Number of pixels along each side of a compressed block. */
+    private static final int BLOCK_SIZE = 4;
+    /** Number of bytes in an ETC1 block, or in either half of an ETC2 block with alpha. */
+    private static final int BLOCK_BYTES = 8;
+
+    /** Modifiers of each EAC table, added to the base alpha after scaling by the multiplier. */
+    private static final int[][] EAC_MODIFIERS = {
+            {-3, -6, -9, -15, 2, 5, 8, 14},
+            {-3, -7, -10, -13, 2, 6, 9, 12},
+            {-2, -5, -8, -13, 1, 4, 7, 12},
+            {-2, -4, -6, -13, 1, 3, 5, 12},
+            {-3, -6, -8, -12, 2, 5, 7, 11},
+            {-3, -7, -9, -11, 2, 6, 8, 10},
+            {-4, -7, -8, -11, 3, 6, 7, 10},
+            {-3, -5, -8, -11, 2, 4, 7, 10},
+            {-2, -6, -8, -10, 1, 5, 7, 9},
+            {-2, -5, -8, -10, 1, 4, 7, 9},
+            {-2, -4, -8, -10, 1, 3, 7, 9},
+            {-2, -5, -7, -10, 1, 4, 6, 9},
+            {-3, -4, -7, -10, 2, 3, 6, 9},
+            {-1, -2, -3, -10, 0, 1, 2, 9},
+            {-4, -6, -8, -9, 3, 5, 7, 8},
+            {-3, -5, -7, -9, 2, 4, 6, 8},
+    };
+    /** EAC table with a modifier of 0, which reproduces a uniform block exactly. */
+    private static final int EAC_UNIFORM_TABLE = 13;
+    /** Index of the modifier of 0 in {@code EAC_UNIFORM_TABLE}. */
+    private static final int EAC_UNIFORM_INDEX = 4;
+    /** Largest multiplier an EAC block can store. Multipliers of 0 are reserved. */
+    private static final int EAC_MAXIMUM_MULTIPLIER = 15;
+    /** Distance around the centered base alpha which is searched for the closest encoding. */
+    private static final int EAC_BASE_SEARCH = 2;
+
+    /**
+     * Compresses every page of an atlas in each compressed format.
+     *
+     * @param atlasFile the packed atlas
+     * @throws IOException if a page cannot be read or a compressed page cannot be written
+     */
+    static void writePages(File atlasFile) throws IOException {
+        GdxNativesLoader.load();
+
+        final FileHandle atlasHandle = new FileHandle(atlasFile);
+        final Array<TextureAtlas.TextureAtlasData.Page> pages
+                = new TextureAtlas.TextureAtlasData(atlasHandle, atlasHandle.parent(), false).getPages();
+        for (TextureAtlas.TextureAtlasData.Page page : pages) {
+            BufferedImage image = ImageIO.read(page.textureFile.file());
+            if (image == null)
+                throw new IOException("Could not read page " + page.textureFile);
+
+            List<Image> levels = new ArrayList<>();
+            levels.add(new Image(image));
+            while (page.useMipMaps && (levels.get(levels.size() - 1).mWidth > 1
+                    || levels.get(levels.size() - 1).mHeight > 1))
+                levels.add(levels.get(levels.size() - 1).downsample());
+
+            writeKtx(TextureManager.TextureFormat.Etc2.getPageFile(page.textureFile).file(),
+                    TextureManager.TextureFormat.GL_COMPRESSED_RGBA8_ETC2_EAC,
+                    GL20.GL_RGBA,
+                    encodeEtc2Levels(levels));
+            writeKtx(TextureManager.TextureFormat.Etc1.getPageFile(page.textureFile).file(),
+                    TextureManager.TextureFormat.GL_ETC1_RGB8_OES,
+                    GL20.GL_RGB,
+                    encodeSplitAlphaEtc1Levels(levels, page.useMipMaps));
+        }
+    }
+
+    /**
+     * Encodes each mip level of a page as ETC2 with EAC alpha.
+     *
+     * @param levels mip levels of the page, largest first
+     * @return the encoded levels
+     */
+    private static List<Level> encodeEtc2Levels(List<Image> levels) {
+        List<Level> encoded = new ArrayList<>();
+        for (Image image : levels) {
+            final byte[] colors = encodeEtc1(image);
+            final byte[] alphas = encodeEac(image);
+            final byte[] blocks = new byte[colors.length * 2];
+            for (int block = 0; block < colors.length / BLOCK_BYTES; block++) {
+                System.arraycopy(alphas, block * BLOCK_BYTES, blocks, block * BLOCK_BYTES * 2, BLOCK_BYTES);
+                System.arraycopy(colors, block * BLOCK_BYTES, blocks, block * BLOCK_BYTES * 2 + BLOCK_BYTES,
+                        BLOCK_BYTES);
+            }
+            encoded.add(new Level(image.mWidth, image.mHeight, blocks));
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes each mip level of a page as ETC1, twice as tall, with the alpha channel below the colors. Each level
+     * stacks the colors and alpha of the same level of the page, so they do not bleed into each other, until the
+     * levels are too short to hold both.
+     *
+     * @param levels mip levels of the page, largest first
+     * @param useMipMaps {@code true} to encode every mip level, {@code false} to encode only the first
+     * @return the encoded levels
+     */
+    private static List<Level> encodeSplitAlphaEtc1Levels(List<Image> levels, boolean useMipMaps) {
+        List<Level> encoded = new ArrayList<>();
+        Image stacked = levels.get(0).stackAlpha();
+        encoded.add(new Level(stacked.mWidth, stacked.mHeight, encodeEtc1(stacked)));
+        while (useMipMaps && (stacked.mWidth > 1 || stacked.mHeight > 1)) {
+            stacked = (encoded.size() < levels.size() && stacked.mHeight > 2)
+                    ? levels.get(encoded.size()).stackAlpha()
+                    : stacked.downsample();
+            encoded.add(new Level(stacked.mWidth, stacked.mHeight, encodeEtc1(stacked)));
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the colors of an image as ETC1, discarding its alpha channel.
+     *
+     * @param image image to encode
+     * @return the encoded blocks, in rows from the top
+     */
+    private static byte[] encodeEtc1(Image image) {
+        Pixmap pixmap = new Pixmap(image.mWidth, image.mHeight, Pixmap.Format.RGB888);
+        final ByteBuffer pixels = pixmap.getPixels();
+        for (int argb : image.mPixels)
+            pixels.put((byte) (argb >> 16)).put((byte) (argb >> 8)).put((byte) argb);
+        pixels.position(0);
+
+        ETC1.ETC1Data data = ETC1.encodeImage(pixmap);
+        final byte[] blocks = new byte[data.compressedData.capacity() - data.dataOffset];
+        data.compressedData.position(data.dataOffset);
+        data.compressedData.get(blocks);
+        data.dispose();
+        pixmap.dispose();
+        return blocks;
+    }
+
+    /**
+     * Encodes the alpha channel of an image as EAC.
+     *
+     * @param image image to encode
+     * @return the encoded blocks, in rows from the top
+     */
+    private static byte[] encodeEac(Image image) {
+        final int blocksWide = (image.mWidth + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final int blocksHigh = (image.mHeight + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final byte[] blocks = new byte[blocksWide * blocksHigh * BLOCK_BYTES];
+        final int[] alphas = new int[BLOCK_SIZE * BLOCK_SIZE];
+        for (int blockY = 0; blockY < blocksHigh; blockY++) {
+            for (int blockX = 0; blockX < blocksWide; blockX++) {
+                // Pixels are ordered by column, and those beyond the edge of the image repeat the edge
+                for (int x = 0; x < BLOCK_SIZE; x++) {
+                    for (int y = 0; y < BLOCK_SIZE; y++) {
+                        final int pixelX = Math.min(blockX * BLOCK_SIZE + x, image.mWidth - 1);
+                        final int pixelY = Math.min(blockY * BLOCK_SIZE + y, image.mHeight - 1);
+                        alphas[x * BLOCK_SIZE + y] = image.mPixels[pixelY * image.mWidth + pixelX] >>> 24;
+                    }
+                }
+
+                final long block = encodeEacBlock(alphas);
+                final int offset = (blockY * blocksWide + blockX) * BLOCK_BYTES;
+                for (int i = 0; i < BLOCK_BYTES; i++)
+                    blocks[offset + i] = (byte) (block >>> (56 - i * 8));
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Encodes the alpha of a single block as EAC, searching every table and multiplier for the least error.
+     *
+     * @param alphas alpha of the 16 pixels in the block, ordered by column
+     * @return the 64 bit block
+     */
+    private static long encodeEacBlock(int[] alphas) {
+        int min = 255;
+        int max = 0;
+        for (int alpha : alphas) {
+            min = Math.min(min, alpha);
+            max = Math.max(max, alpha);
+        }
+
+        int bestBase = min;
+        int bestMultiplier = 1;
+        int bestTable = EAC_UNIFORM_TABLE;
+        if (min != max) {
+            long bestError = Long.MAX_VALUE;
+            for (int table = 0; table < EAC_MODIFIERS.length && bestError > 0; table++) {
+                final int[] modifiers = EAC_MODIFIERS[table];
+                for (int multiplier = 1; multiplier <= EAC_MAXIMUM_MULTIPLIER; multiplier++) {
+                    final int center = Math.round((min + max) / 2f - (modifiers[3] + modifiers[7]) * multiplier / 2f);
+                    for (int base = center - EAC_BASE_SEARCH; base <= center + EAC_BASE_SEARCH; base++) {
+                        if (base < 0 || base > 255)
+                            continue;
+
+                        long error = 0;
+                        for (int i = 0; i < alphas.length && error < bestError; i++) {
+                            final int difference = decodeEac(base, multiplier, modifiers[nearestEacModifier(
+                                    alphas[i], base, multiplier, modifiers)]) - alphas[i];
+                            error += difference * difference;
+                        }
+                        if (error < bestError) {
+                            bestError = error;
+                            bestBase = base;
+                            bestMultiplier = multiplier;
+                            bestTable = table;
+                        }
+                    }
+                }
+            }
+        }
+
+        long block = ((long) bestBase << 56) | ((long) bestMultiplier << 52) | ((long) bestTable << 48);
+        for (int i = 0; i < alphas.length; i++) {
+            final int index = (min == max)
+                    ? EAC_UNIFORM_INDEX
+                    : nearestEacModifier(alphas[i], bestBase, bestMultiplier, EAC_MODIFIERS[bestTable]);
+            block |= (long) index << (45 - i * 3);
+        }
+        return block;
+    }
+
+    /**
+     * Finds the modifier which decodes closest to an alpha.
+     *
+     * @param alpha alpha to encode
+     * @param base base alpha of the block
+     * @param multiplier multiplier of the block
+     * @param modifiers modifiers of the block's table
+     * @return index of the closest modifier
+     */
+    private static int nearestEacModifier(int alpha, int base, int multiplier, int[] modifiers) {
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < modifiers.length; i++) {
+            final int distance = Math.abs(decodeEac(base, multiplier, modifiers[i]) - alpha);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Decodes an alpha as the GPU will.
+     *
+     * @param base base alpha of the block
+     * @param multiplier multiplier of the block
+     * @param modifier modifier of the pixel
+     * @return the decoded alpha
+     */
+    private static int decodeEac(int base, int multiplier, int modifier) {
+        return Math.max(0, Math.min(255, base + modifier * multiplier));
+    }
+
+    /**
+     * Writes compressed mip levels to a zipped KTX file, which is a KTX file prefixed by its size and compressed.
+     *
+     * @param file file to write to
+     * @param glInternalFormat compressed format of the levels
+     * @param glBaseInternalFormat uncompressed format with the same channels
+     * @param levels mip levels, largest first
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeKtx(File file, int glInternalFormat, int glBaseInternalFormat, List<Level> levels)
+            throws IOException {
+        int size = KTX_IDENTIFIER.length + KTX_HEADER_SIZE;
+        for (Level level : levels)
+            size += 4 + level.mBlocks.length;
+
+        ByteBuffer ktx = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        ktx.put(KTX_IDENTIFIER);
+        ktx.putInt(KTX_ENDIANNESS);
+        ktx.putInt(0);                              // glType, 0 for compressed formats
+        ktx.putInt(1);                              // glTypeSize
+        ktx.putInt(0);                              // glFormat, 0 for compressed formats
+        ktx.putInt(glInternalFormat);
+        ktx.putInt(glBaseInternalFormat);
+        ktx.putInt(levels.get(0).mWidth);
+        ktx.putInt(levels.get(0).mHeight);
+        ktx.putInt(0);                              // pixelDepth, 0 for 2D textures
+        ktx.putInt(0);                              // numberOfArrayElements
+        ktx.putInt(1);                              // numberOfFaces
+        ktx.putInt(levels.size());
+        ktx.putInt(0);                              // bytesOfKeyValueData
+
+        // Every level is a multiple of the block size, so no padding is needed between them
+        for (Level level : levels) {
+            ktx.putInt(level.mBlocks.length);
+            ktx.put(level.mBlocks);
+        }
+
+        DataOutputStream output = new DataOutputStream(new GZIPOutputStream(new FileOutputStream(file)));
+        try {
+            output.writeInt(size);
+            output.write(ktx.array());
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Uncompressed ARGB pixels of a page or one of its mip levels.
+     */
+    private static final class Image {
+
+        /** Width of the image, in pixels. */
+        private final int mWidth;
+        /** Height of the image, in pixels. */
+        private final int mHeight;
+        /** ARGB pixels, in rows from the top. */
+        private final int[] mPixels;
+
+        /**
+         * Copies the pixels of an image.
+         *
+         * @param image image to copy
+         */
+        private Image(BufferedImage image) {
+            this(image.getWidth(), image.getHeight(), image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0,
+                    image.getWidth()));
+        }
+
+        /**
+         * Creates an image from its pixels.
+         *
+         * @param width width of the image
+         * @param height height of the image
+         * @param pixels ARGB pixels, in rows from the top
+         */
+        private Image(int width, int height, int[] pixels) {
+            mWidth = width;
+            mHeight = height;
+            mPixels = pixels;
+        }
+
+        /**
+         * Creates the next mip level of the image by averaging each 2x2 square of pixels, as
+         * {@code glGenerateMipmap} does.
+         *
+         * @return an image half the size in each dimension, but at least one pixel
+         */
+        private Image downsample() {
+            final int width = Math.max(1, mWidth / 2);
+            final int height = Math.max(1, mHeight / 2);
+            final int[] pixels = new int[width * height];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    final int left = Math.min(x * 2, mWidth - 1);
+                    final int right = Math.min(x * 2 + 1, mWidth - 1);
+                    final int top = Math.min(y * 2, mHeight - 1);
+                    final int bottom = Math.min(y * 2 + 1, mHeight - 1);
+
+                    int averaged = 0;
+                    for (int shift = 0; shift < 32; shift += 8) {
+                        final int sum = ((mPixels[top * mWidth + left] >>> shift) & 0xff)
+                                + ((mPixels[top * mWidth + right] >>> shift) & 0xff)
+                                + ((mPixels[bottom * mWidth + left] >>> shift) & 0xff)
+                                + ((mPixels[bottom * mWidth + right] >>> shift) & 0xff);
+                        averaged |= ((sum + 2) / 4) << shift;
+                    }
+                    pixels[y * width + x] = averaged;
+                }
+            }
+            return new Image(width, height, pixels);
+        }
+
+        /**
+         * Creates an image twice as tall, with the colors of this image above its alpha channel as gray.
+         *
+         * @return the stacked image
+         */
+        private Image stackAlpha() {
+            final int[] pixels = new int[mPixels.length * 2];
+            for (int i = 0; i < mPixels.length; i++) {
+                final int alpha = mPixels[i] >>> 24;
+                pixels[i] = mPixels[i] | 0xff000000;
+                pixels[mPixels.length + i] = 0xff000000 | (alpha << 16) | (alpha << 8) | alpha;
+            }
+            return new Image(mWidth, mHeight * 2, pixels);
+        }
+    }
+
+    /**
+     * A compressed mip level.
+     */
+    private static final class Level {
+
+        /** Width of the level, in pixels. */
+        private final int mWidth;
+        /** Height of the level, in pixels. */
+        private final int mHeight;
+        /** Compressed blocks of the level. */
+        private final byte[] mBlocks;
+
+        /**
+         * Creates a compressed mip level.
+         *
+         * @param width width of the level
+         * @param height height of the level
+         * @param blocks compressed blocks of the level
+         */
+        private Level(int width, int height, byte[] blocks) {
+            mWidth = width;
+            mHeight = height;
+            mBlocks = blocks;
+        }
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private CompressedPageWriter() {
+        // does nothing
+    }
+}
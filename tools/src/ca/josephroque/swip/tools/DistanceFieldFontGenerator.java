@@ -0,0 +1,219 @@
+package ca.josephroque.swip.tools;
+
+import com.badlogic.gdx.tools.distancefield.DistanceFieldGenerator;
+
+import javax.imageio.ImageIO;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bakes the game's font into a signed distance field glyph page and a BMFont description, so the game can draw text
+ * crisply at any size from a single texture instead of generating glyphs with FreeType at startup. Each glyph is
+ * rendered far larger than it will be stored, and the distance to the nearest edge is sampled down from that render.
+ */
+public final class DistanceFieldFontGenerator {
+
+    /** Path of the font to bake. */
+    private static final String FONT_SOURCE = "design/fonts/KenVectorFutureThin.ttf";
+    /** Directory to write the baked font to. */
+    private static final String OUTPUT_DIRECTORY = "android/assets/font";
+    /** Name of the baked font. */
+    private static final String FONT_NAME = "KenVectorFutureThin";
+
+    /** First character baked into the font. */
+    private static final char FIRST_CHARACTER = ' ';
+    /** Last character baked into the font. */
+    private static final char LAST_CHARACTER = '~';
+
+    /** Size of the baked font, in pixels of the glyph page. */
+    private static final int FONT_SIZE = 32;
+    /** Factor the glyphs are rendered larger than they are stored, so edges are found with sub-pixel accuracy. */
+    private static final int DOWNSCALE = 8;
+    /**
+     * Furthest distance from an edge which is stored, in pixels of the glyph page. Also the padding around every
+     * glyph, which the game reads back to choose how sharply edges are drawn.
+     */
+    private static final int SPREAD = 4;
+    /** Empty pixels between glyphs on the page, so filtering never samples a neighbouring glyph. */
+    private static final int SPACING = 1;
+    /** Width of the glyph page. */
+    private static final int PAGE_WIDTH = 512;
+
+    /**
+     * Bakes the font. Paths are resolved relative to the root of the project.
+     *
+     * @param args optionally, the root of the project
+     * @throws IOException if the font cannot be read, does not fit on one page, or the output cannot be written
+     * @throws FontFormatException if the font is not a valid TrueType font
+     */
+    public static void main(String[] args) throws IOException, FontFormatException {
+        final File root = new File((args.length > 0)
+                ? args[0]
+                : ".");
+
+        final Font font = Font.createFont(Font.TRUETYPE_FONT, new File(root, FONT_SOURCE))
+                .deriveFont((float) FONT_SIZE * DOWNSCALE);
+        final FontRenderContext context = new FontRenderContext(null, true, true);
+
+        DistanceFieldGenerator generator = new DistanceFieldGenerator();
+        generator.setDownscale(DOWNSCALE);
+        generator.setSpread(SPREAD * DOWNSCALE);
+
+        final int glyphCount = LAST_CHARACTER - FIRST_CHARACTER + 1;
+        BufferedImage[] fields = new BufferedImage[glyphCount];
+        int[][] metrics = new int[glyphCount][];
+        for (int i = 0; i < glyphCount; i++) {
+            final char character = (char) (FIRST_CHARACTER + i);
+            if (!font.canDisplay(character))
+                throw new IOException(FONT_SOURCE + " has no glyph for '" + character + "'");
+
+            GlyphVector glyph = font.createGlyphVector(context, String.valueOf(character));
+            final Rectangle bounds = glyph.getPixelBounds(context, 0, 0);
+            final int advance = Math.round(glyph.getGlyphMetrics(0).getAdvanceX() / DOWNSCALE);
+            if (bounds.isEmpty()) {
+                metrics[i] = new int[]{0, 0, advance};
+                continue;
+            }
+
+            fields[i] = generator.generateDistanceField(renderGlyph(glyph, bounds));
+            metrics[i] = new int[]{
+                    Math.round((float) bounds.x / DOWNSCALE) - SPREAD,
+                    Math.round((float) bounds.y / DOWNSCALE) - SPREAD,
+                    advance};
+        }
+
+        final FontMetrics fontMetrics = createGraphics(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB), font)
+                .getFontMetrics();
+        final int ascent = Math.round((float) fontMetrics.getAscent() / DOWNSCALE);
+        final int lineHeight = Math.round((float) fontMetrics.getHeight() / DOWNSCALE);
+
+        // Glyphs are placed on shelves, left to right, in character order
+        int[][] positions = new int[glyphCount][];
+        int x = SPACING;
+        int y = SPACING;
+        int shelfHeight = 0;
+        for (int i = 0; i < glyphCount; i++) {
+            if (fields[i] == null) {
+                positions[i] = new int[]{0, 0};
+                continue;
+            }
+
+            if (x + fields[i].getWidth() + SPACING > PAGE_WIDTH) {
+                x = SPACING;
+                y += shelfHeight + SPACING;
+                shelfHeight = 0;
+            }
+            positions[i] = new int[]{x, y};
+            x += fields[i].getWidth() + SPACING;
+            shelfHeight = Math.max(shelfHeight, fields[i].getHeight());
+        }
+
+        int pageHeight = 1;
+        while (pageHeight < y + shelfHeight + SPACING)
+            pageHeight *= 2;
+        if (pageHeight > PAGE_WIDTH)
+            throw new IOException("Glyphs do not fit on a single " + PAGE_WIDTH + "px page");
+
+        BufferedImage page = new BufferedImage(PAGE_WIDTH, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D pageGraphics = page.createGraphics();
+        for (int i = 0; i < glyphCount; i++) {
+            if (fields[i] != null)
+                pageGraphics.drawImage(fields[i], positions[i][0], positions[i][1], null);
+        }
+        pageGraphics.dispose();
+
+        final File outputDirectory = new File(root, OUTPUT_DIRECTORY);
+        ImageIO.write(page, "png", new File(outputDirectory, FONT_NAME + ".png"));
+
+        PrintWriter writer = new PrintWriter(new File(outputDirectory, FONT_NAME + ".fnt"),
+                StandardCharsets.UTF_8.name());
+        try {
+            writer.println("info face=\"" + FONT_NAME + "\" size=" + FONT_SIZE + " bold=0 italic=0 charset=\"\""
+                    + " unicode=0 stretchH=100 smooth=1 aa=1 padding=" + SPREAD + "," + SPREAD + "," + SPREAD + ","
+                    + SPREAD + " spacing=" + SPACING + "," + SPACING);
+            writer.println("common lineHeight=" + lineHeight + " base=" + ascent + " scaleW=" + PAGE_WIDTH
+                    + " scaleH=" + pageHeight + " pages=1 packed=0");
+            writer.println("page id=0 file=\"" + FONT_NAME + ".png\"");
+            writer.println("chars count=" + glyphCount);
+            for (int i = 0; i < glyphCount; i++) {
+                final int width = (fields[i] == null)
+                        ? 0
+                        : fields[i].getWidth();
+                final int height = (fields[i] == null)
+                        ? 0
+                        : fields[i].getHeight();
+                writer.println("char id=" + (FIRST_CHARACTER + i) + " x=" + positions[i][0] + " y=" + positions[i][1]
+                        + " width=" + width + " height=" + height + " xoffset=" + metrics[i][0]
+                        + " yoffset=" + (ascent + metrics[i][1]) + " xadvance=" + metrics[i][2] + " page=0 chnl=0");
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Renders a single glyph in white at full size, surrounded by enough empty space for its distance field to fade
+     * out. The image is sized to a multiple of {@code DOWNSCALE} so every stored pixel covers a whole block.
+     *
+     * @param glyph glyph to render
+     * @param bounds pixel bounds of the glyph, relative to its origin
+     * @return the rendered glyph
+     */
+    private static BufferedImage renderGlyph(GlyphVector glyph, Rectangle bounds) {
+        final int border = SPREAD * DOWNSCALE;
+        final int width = roundUp(bounds.width + border * 2, DOWNSCALE);
+        final int height = roundUp(bounds.height + border * 2, DOWNSCALE);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = createGraphics(image, glyph.getFont());
+        graphics.drawGlyphVector(glyph, border - bounds.x, border - bounds.y);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Creates a graphics context which draws {@code font} in white, without antialiasing, since the distance field
+     * generator only distinguishes pixels inside and outside of a glyph.
+     *
+     * @param image image to draw to
+     * @param font font to draw with
+     * @return the graphics context
+     */
+    private static Graphics2D createGraphics(BufferedImage image, Font font) {
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        graphics.setColor(java.awt.Color.WHITE);
+        graphics.setFont(font);
+        return graphics;
+    }
+
+    /**
+     * Rounds {@code value} up to the nearest multiple of {@code multiple}.
+     *
+     * @param value value to round
+     * @param multiple multiple to round to
+     * @return the rounded value
+     */
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private DistanceFieldFontGenerator() {
+        // does nothing
+    }
+}
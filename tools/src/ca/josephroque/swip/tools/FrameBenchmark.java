@@ -0,0 +1,552 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.SwipGame;
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Plays the game on the headless backend, drawing to a {@code RecordingGL20} instead of a GPU, and reports what each
+ * frame asked of the GPU and how long it took to prepare, for each {@code GameScreen.GameState}. Input is scripted to
+ * visit every state: the main menu is tapped to start a game, the first countdown is paused and resumed, the ball is
+ * swiped towards each wall in turn until the game is lost, and the end screen is tapped to start again. Frames are
+ * drawn at the display refresh rate with a fixed delta, so touch events are as far apart as on a device.
+ * <p/>
+ * The average counts of each state can be written to a baseline file and compared against it on later runs, which
+ * fail if a count which does not depend on timing has grown by more than {@code REGRESSION_TOLERANCE}. CPU time is
+ * reported but never compared, since it depends on the machine.
+ * <p/>
+ * Usage: {@code FrameBenchmark [--assets directory] [--frames n] [--size widthxheight] [--gl-version version]
+ * [--gl-extensions extensions] [--baseline file] [--write-baseline file]}. Assets are read from the given directory,
+ * or the working directory if none is given. The game writes its texture cache to the working directory, so it should
+ * be run from a build directory rather than {@code android/assets}, which is packaged into the APK.
+ */
+public final class FrameBenchmark
+        implements ApplicationListener {
+
+    /** Identifies output from this class. */
+    private static final String TAG = "FrameBenchmark";
+
+    /** Number of seconds between frames, which is also the delta each frame is drawn with. */
+    private static final float FRAME_LENGTH = 1 / 60f;
+    /** Number of frames drawn once the game has loaded, unless another number is given. */
+    private static final int DEFAULT_FRAMES = 1800;
+    /** Width of the screen, unless another size is given. */
+    private static final int DEFAULT_SCREEN_WIDTH = 1080;
+    /** Height of the screen, unless another size is given. */
+    private static final int DEFAULT_SCREEN_HEIGHT = 1920;
+    /** Reported {@code GL_VERSION}, unless another is given. */
+    private static final String DEFAULT_GL_VERSION = "OpenGL ES 2.0";
+
+    /** Fraction by which an average count may grow over its baseline before the benchmark fails. */
+    private static final float REGRESSION_TOLERANCE = 0.1f;
+    /** Amount by which an average count may always grow, so small counts do not fail on rounding. */
+    private static final float REGRESSION_SLACK = 0.5f;
+    /** Number of the most frequent GL functions reported for each state. */
+    private static final int REPORTED_FUNCTIONS = 6;
+    /** Number of nanoseconds in a millisecond. */
+    private static final double NANOSECONDS_PER_MILLISECOND = 1000000.0;
+
+    /** Number of frames a menu is displayed for before it is tapped. */
+    private static final int FRAMES_BEFORE_TAP = 30;
+    /** Frame of the first countdown at which the pause button is tapped. */
+    private static final int FRAMES_BEFORE_PAUSE = 30;
+    /** Number of frames between the start of each swipe while a game is played. */
+    private static final int FRAMES_PER_SWIPE = 40;
+    /** Frame within each swipe period at which the finger is placed on the ball. */
+    private static final int SWIPE_START_FRAME = 10;
+    /** Number of frames the finger is dragged for before it is lifted. */
+    private static final int SWIPE_DRAG_FRAMES = 6;
+    /** Number of pixels the finger moves in each frame of a swipe. */
+    private static final int SWIPE_STEP = 60;
+    /** Distance of taps from the corner of the screen they are made in, in pixels. */
+    private static final int TAP_INSET = 20;
+    /** Direction of each swipe in screen coordinates, as pairs of x and y, cycled through in order. */
+    private static final int[] SWIPE_DIRECTIONS = {0, -1, 1, 0, 0, 1, -1, 0};
+
+    /** Index of the row which counts frames drawn while assets load, after one row for each state. */
+    private static final int LOADING_ROW = GameScreen.GameState.getSize();
+    /** Every counter, cached so that counting a frame does not allocate. */
+    private static final RecordingGL20.Counter[] COUNTERS = RecordingGL20.Counter.values();
+
+    /** Game which is benchmarked. */
+    private final SwipGame mGame = new SwipGame(false);
+    /** Context the game draws to. */
+    private final RecordingGL20 mRecorder;
+    /** Width of the screen. */
+    private final int mScreenWidth;
+    /** Height of the screen. */
+    private final int mScreenHeight;
+    /** Directory the game's assets are read from, or {@code null} to read them from the working directory. */
+    private final File mAssetsDirectory;
+    /** Number of frames to draw once the game has loaded. */
+    private final int mFrames;
+    /** File to compare the averages against, or {@code null} to not compare them. */
+    private final File mBaseline;
+    /** File to write the averages to, or {@code null} to not write them. */
+    private final File mWriteBaseline;
+    /** Released once the game has been disposed of. */
+    private final CountDownLatch mFinished = new CountDownLatch(1);
+
+    /** Sum of the counts of every frame drawn in each row, indexed by row and then counter ordinal. */
+    private final long[][] mTotals = new long[LOADING_ROW + 1][RecordingGL20.Counter.getSize()];
+    /** Largest count of any frame drawn in each row, indexed by row and then counter ordinal. */
+    private final long[][] mMaximums = new long[LOADING_ROW + 1][RecordingGL20.Counter.getSize()];
+    /** Number of frames drawn in each row. */
+    private final int[] mRowFrames = new int[LOADING_ROW + 1];
+    /** Sum of the nanoseconds spent drawing every frame of each row. */
+    private final long[] mTotalTime = new long[LOADING_ROW + 1];
+    /** Largest number of nanoseconds spent drawing any frame of each row. */
+    private final long[] mMaximumTime = new long[LOADING_ROW + 1];
+    /** Number of calls to each GL function in each row, by name. */
+    private final List<Map<String, Long>> mRowFunctions = new ArrayList<>();
+
+    /** State which the last frame was drawn in, or {@code null} while assets load. */
+    private GameScreen.GameState mLastState;
+    /** Number of frames drawn since the state last changed. */
+    private int mFramesInState;
+    /** Number of frames drawn since the game loaded. */
+    private int mFramesDrawn;
+    /** Indicates if the countdown has been paused, which is only done once. */
+    private boolean mPausedCountdown;
+    /** Number of swipes which have been made, to choose the direction of the next. */
+    private int mSwipes;
+    /** Status to exit with once the game has been disposed of. */
+    private int mExitStatus;
+
+    /**
+     * Creates a benchmark.
+     *
+     * @param recorder context to draw to
+     * @param assetsDirectory directory to read the game's assets from, or {@code null}
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @param frames number of frames to draw once the game has loaded
+     * @param baseline file to compare the averages against, or {@code null}
+     * @param writeBaseline file to write the averages to, or {@code null}
+     */
+    private FrameBenchmark(RecordingGL20 recorder,
+                           File assetsDirectory,
+                           int screenWidth,
+                           int screenHeight,
+                           int frames,
+                           File baseline,
+                           File writeBaseline) {
+        mRecorder = recorder;
+        mAssetsDirectory = assetsDirectory;
+        mScreenWidth = screenWidth;
+        mScreenHeight = screenHeight;
+        mFrames = frames;
+        mBaseline = baseline;
+        mWriteBaseline = writeBaseline;
+        for (int i = 0; i <= LOADING_ROW; i++)
+            mRowFunctions.add(new HashMap<String, Long>());
+    }
+
+    /**
+     * Runs the benchmark, and exits with a non-zero status if it fails.
+     *
+     * @param args options, as described by the class
+     * @throws InterruptedException if interrupted while waiting for the benchmark to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        File assetsDirectory = null;
+        int frames = DEFAULT_FRAMES;
+        int screenWidth = DEFAULT_SCREEN_WIDTH;
+        int screenHeight = DEFAULT_SCREEN_HEIGHT;
+        String glVersion = DEFAULT_GL_VERSION;
+        String glExtensions = "";
+        File baseline = null;
+        File writeBaseline = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length)
+                throw new IllegalArgumentException("missing value for " + args[i]);
+            switch (args[i]) {
+                case "--assets":
+                    assetsDirectory = new File(args[i + 1]);
+                    break;
+                case "--frames":
+                    frames = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--size":
+                    final String[] size = args[i + 1].split("x");
+                    screenWidth = Integer.parseInt(size[0]);
+                    screenHeight = Integer.parseInt(size[1]);
+                    break;
+                case "--gl-version":
+                    glVersion = args[i + 1];
+                    break;
+                case "--gl-extensions":
+                    glExtensions = args[i + 1];
+                    break;
+                case "--baseline":
+                    baseline = new File(args[i + 1]);
+                    break;
+                case "--write-baseline":
+                    writeBaseline = new File(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        // Failures on the headless backend's thread would otherwise leave this thread waiting forever
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread thread, Throwable throwable) {
+                throwable.printStackTrace();
+                System.exit(1);
+            }
+        });
+
+        final FrameBenchmark benchmark = new FrameBenchmark(new RecordingGL20(glVersion, glExtensions),
+                assetsDirectory,
+                screenWidth,
+                screenHeight,
+                frames,
+                baseline,
+                writeBaseline);
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.renderInterval = FRAME_LENGTH;
+        new HeadlessApplication(benchmark, config);
+
+        benchmark.mFinished.await();
+        System.exit(benchmark.mExitStatus);
+    }
+
+    @Override
+    public void create() {
+        if (mAssetsDirectory != null)
+            Gdx.files = new AssetFiles(mAssetsDirectory);
+        Gdx.gl = mRecorder.getContext();
+        Gdx.gl20 = mRecorder.getContext();
+        Gdx.graphics = new MockGraphics() {
+            @Override
+            public int getWidth() {
+                return mScreenWidth;
+            }
+
+            @Override
+            public int getHeight() {
+                return mScreenHeight;
+            }
+
+            @Override
+            public GL20 getGL20() {
+                return mRecorder.getContext();
+            }
+        };
+
+        // The headless backend discards the input processor, so the game's is kept to script its input
+        Gdx.input = new MockInput() {
+            /** Receives the game's input. */
+            private InputProcessor mInputProcessor;
+
+            @Override
+            public void setInputProcessor(InputProcessor processor) {
+                mInputProcessor = processor;
+            }
+
+            @Override
+            public InputProcessor getInputProcessor() {
+                return mInputProcessor;
+            }
+        };
+
+        mGame.create();
+        mGame.resize(mScreenWidth, mScreenHeight);
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+    }
+
+    @Override
+    public void render() {
+        final GameScreen screen = (GameScreen) mGame.getScreen();
+        if (screen.getGameState() != null)
+            scriptInput(screen.getGameState(), Gdx.input.getInputProcessor());
+
+        mRecorder.reset();
+        final long startTime = System.nanoTime();
+        screen.render(FRAME_LENGTH);
+        final long frameTime = System.nanoTime() - startTime;
+
+        final GameScreen.GameState state = screen.getGameState();
+        countFrame((state == null)
+                ? LOADING_ROW
+                : state.ordinal(), frameTime);
+        if (state != mLastState) {
+            mLastState = state;
+            mFramesInState = 0;
+        } else {
+            mFramesInState++;
+        }
+
+        if (state != null && ++mFramesDrawn == mFrames) {
+            mExitStatus = report();
+            Gdx.app.exit();
+        }
+    }
+
+    /**
+     * Sends the input which is scripted for the next frame to the game.
+     *
+     * @param state state of the game
+     * @param input receives the game's input
+     */
+    private void scriptInput(GameScreen.GameState state, InputProcessor input) {
+        switch (state) {
+            case MainMenu:
+            case GamePaused:
+            case Ended:
+                // Taps away from the menu's options, which starts or resumes a game
+                if (mFramesInState == FRAMES_BEFORE_TAP)
+                    tap(input, mScreenWidth - TAP_INSET, mScreenHeight - TAP_INSET);
+                break;
+            case GameStarting:
+                // Taps the pause button, in the top left corner, once
+                if (!mPausedCountdown && mFramesInState == FRAMES_BEFORE_PAUSE) {
+                    mPausedCountdown = true;
+                    tap(input, TAP_INSET, TAP_INSET);
+                }
+                break;
+            case GamePlaying:
+                swipe(input, mFramesInState % FRAMES_PER_SWIPE - SWIPE_START_FRAME);
+                break;
+            default:
+                throw new IllegalStateException("invalid game state.");
+        }
+    }
+
+    /**
+     * Taps the screen.
+     *
+     * @param input receives the game's input
+     * @param x x location of the tap, from the left of the screen
+     * @param y y location of the tap, from the top of the screen
+     */
+    private void tap(InputProcessor input, int x, int y) {
+        input.touchDown(x, y, 0, 0);
+        input.touchUp(x, y, 0, 0);
+    }
+
+    /**
+     * Sends one frame of a swipe from the center of the screen, where each ball starts.
+     *
+     * @param input receives the game's input
+     * @param frame frame of the swipe, from 0 when the finger is placed until it is lifted
+     */
+    private void swipe(InputProcessor input, int frame) {
+        if (frame < 0 || frame > SWIPE_DRAG_FRAMES + 1)
+            return;
+
+        final int direction = (mSwipes % (SWIPE_DIRECTIONS.length / 2)) * 2;
+        final int x = mScreenWidth / 2 + SWIPE_DIRECTIONS[direction] * SWIPE_STEP * frame;
+        final int y = mScreenHeight / 2 + SWIPE_DIRECTIONS[direction + 1] * SWIPE_STEP * frame;
+        if (frame == 0) {
+            input.touchDown(x, y, 0, 0);
+        } else if (frame <= SWIPE_DRAG_FRAMES) {
+            input.touchDragged(x, y, 0);
+        } else {
+            input.touchUp(x, y, 0, 0);
+            mSwipes++;
+        }
+    }
+
+    /**
+     * Adds the counts of the last frame to a row.
+     *
+     * @param row row to add the frame to
+     * @param frameTime number of nanoseconds spent drawing the frame
+     */
+    private void countFrame(int row, long frameTime) {
+        mRowFrames[row]++;
+        mTotalTime[row] += frameTime;
+        mMaximumTime[row] = Math.max(mMaximumTime[row], frameTime);
+        for (RecordingGL20.Counter counter : COUNTERS) {
+            final long count = mRecorder.getCount(counter);
+            mTotals[row][counter.ordinal()] += count;
+            mMaximums[row][counter.ordinal()] = Math.max(mMaximums[row][counter.ordinal()], count);
+        }
+
+        final Map<String, Long> functions = mRowFunctions.get(row);
+        for (Map.Entry<String, Long> entry : mRecorder.getCallsByName().entrySet()) {
+            final Long calls = functions.get(entry.getKey());
+            functions.put(entry.getKey(), (calls == null)
+                    ? entry.getValue()
+                    : calls + entry.getValue());
+        }
+    }
+
+    /**
+     * Prints the averages and maximums of each row, and compares them against and writes them to the baseline files.
+     *
+     * @return the status to exit with, which is non-zero if a count has regressed
+     */
+    private int report() {
+        StringBuilder header = new StringBuilder(String.format("%-13s %7s", "State", "Frames"));
+        for (RecordingGL20.Counter counter : COUNTERS)
+            header.append(String.format(" %17s", counter.getLabel()));
+        header.append(String.format(" %17s", "CPU ms"));
+        System.out.println(header);
+
+        Map<String, String> averages = new TreeMap<>();
+        for (int row = 0; row <= LOADING_ROW; row++) {
+            final int frames = mRowFrames[row];
+            if (frames == 0)
+                continue;
+
+            StringBuilder line = new StringBuilder(String.format("%-13s %7d", getRowName(row), frames));
+            for (RecordingGL20.Counter counter : COUNTERS) {
+                final float average = mTotals[row][counter.ordinal()] / (float) frames;
+                line.append(String.format(" %9.1f (%5d)", average, mMaximums[row][counter.ordinal()]));
+                if (row != LOADING_ROW && counter.isDeterministic())
+                    averages.put(getRowName(row) + "." + counter.name(),
+                            String.format(Locale.ROOT, "%.2f", average));
+            }
+            line.append(String.format(" %9.3f (%5.1f)",
+                    mTotalTime[row] / NANOSECONDS_PER_MILLISECOND / frames,
+                    mMaximumTime[row] / NANOSECONDS_PER_MILLISECOND));
+            System.out.println(line);
+        }
+
+        System.out.println();
+        for (int row = 0; row < LOADING_ROW; row++) {
+            if (mRowFrames[row] > 0)
+                System.out.println(getRowName(row) + " calls per frame: " + getFrequentFunctions(row));
+        }
+
+        int status = 0;
+        try {
+            if (mBaseline != null)
+                status = compareBaseline(averages);
+            if (mWriteBaseline != null) {
+                // Written in order without a timestamp, so changes to the baseline diff cleanly
+                try (PrintWriter output = new PrintWriter(mWriteBaseline, "UTF-8")) {
+                    output.println("# Average counts per frame in each state, written by " + TAG);
+                    for (Map.Entry<String, String> average : averages.entrySet())
+                        output.println(average.getKey() + "=" + average.getValue());
+                }
+                System.out.println("Wrote baseline to " + mWriteBaseline);
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+            status = 1;
+        }
+        return status;
+    }
+
+    /**
+     * Compares the averages of this run against the baseline file.
+     *
+     * @param averages average counts of this run, by state and counter
+     * @return 0 if no count has regressed, or 1 otherwise
+     * @throws IOException if the baseline cannot be read
+     */
+    private int compareBaseline(Map<String, String> averages) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream input = new FileInputStream(mBaseline)) {
+            baseline.load(input);
+        }
+
+        int regressions = 0;
+        for (String key : baseline.stringPropertyNames()) {
+            final float expected = Float.parseFloat(baseline.getProperty(key));
+            final String value = averages.get(key);
+            if (value == null) {
+                System.out.println("REGRESSION " + key + " was not reached");
+                regressions++;
+            } else if (Float.parseFloat(value) > expected * (1 + REGRESSION_TOLERANCE) + REGRESSION_SLACK) {
+                System.out.println("REGRESSION " + key + " grew from " + expected + " to " + value);
+                regressions++;
+            }
+        }
+
+        System.out.println((regressions == 0)
+                ? "No regressions against " + mBaseline
+                : regressions + " regressions against " + mBaseline);
+        return (regressions == 0)
+                ? 0
+                : 1;
+    }
+
+    /**
+     * Lists the GL functions called most often in a row.
+     *
+     * @param row row to list the functions of
+     * @return the most frequent functions, with their average number of calls per frame
+     */
+    private String getFrequentFunctions(int row) {
+        final Map<String, Long> functions = mRowFunctions.get(row);
+        List<String> names = new ArrayList<>(functions.keySet());
+        Collections.sort(names, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return Long.compare(functions.get(b), functions.get(a));
+            }
+        });
+
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < Math.min(REPORTED_FUNCTIONS, names.size()); i++) {
+            if (i > 0)
+                list.append(", ");
+            list.append(names.get(i))
+                    .append(String.format(" %.1f", functions.get(names.get(i)) / (float) mRowFrames[row]));
+        }
+        return list.toString();
+    }
+
+    /**
+     * Gets the name of a row.
+     *
+     * @param row row to name
+     * @return the name of the state the row counts, or {@code Loading}
+     */
+    private static String getRowName(int row) {
+        return (row == LOADING_ROW)
+                ? "Loading"
+                : GameScreen.GameState.values()[row].name();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        // does nothing - the screen is a fixed size
+    }
+
+    @Override
+    public void pause() {
+        // does nothing - pausing would change the state being measured
+    }
+
+    @Override
+    public void resume() {
+        // does nothing
+    }
+
+    @Override
+    public void dispose() {
+        mGame.dispose();
+        mFinished.countDown();
+    }
+}
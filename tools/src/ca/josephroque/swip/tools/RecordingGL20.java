@@ -0,0 +1,340 @@
+package ca.josephroque.swip.tools;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A GL context which draws nothing, and instead counts every call made to it, so the work a frame asks of the GPU can
+ * be measured without one. Calls which return something answer as a GL ES 2.0 context which succeeds at everything
+ * would: objects are given new names, shaders compile and link, and queried limits are those every device supports.
+ * Vertices are counted the way {@code GLProfiler} counts them, once for each index drawn. The benchmarks also load
+ * the game's assets into this context, so they can run without a GPU.
+ */
+public final class RecordingGL20
+        implements InvocationHandler {
+
+    /** Identifies this context when printed. */
+    private static final String TAG = "RecordingGL20";
+
+    /** Largest texture size reported, which every supported device can upload. */
+    private static final int MAXIMUM_TEXTURE_SIZE = 2048;
+
+    /** Context which forwards every call to this recorder. */
+    private final GL20 mContext;
+    /** Value reported for {@code GL_VERSION}. */
+    private final String mVersion;
+    /** Value reported for {@code GL_EXTENSIONS}. */
+    private final String mExtensions;
+
+    /** Counts since the last reset, indexed by {@code Counter} ordinal. */
+    private final long[] mCounts = new long[Counter.getSize()];
+    /** Number of times each GL function has been called since the last reset, by name. */
+    private final Map<String, long[]> mCallsByName = new HashMap<>();
+    /** Last name given to a GL object. */
+    private int mLastName;
+
+    /**
+     * Creates a context which reports the given capabilities.
+     *
+     * @param version value to report for {@code GL_VERSION}
+     * @param extensions value to report for {@code GL_EXTENSIONS}, separated by spaces
+     */
+    public RecordingGL20(String version, String extensions) {
+        mVersion = version;
+        mExtensions = extensions;
+        mContext = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, this);
+    }
+
+    /**
+     * Gets the context which records its calls, to install as {@code Gdx.gl}.
+     *
+     * @return the recording context
+     */
+    public GL20 getContext() {
+        return mContext;
+    }
+
+    /**
+     * Gets a count of the calls made since the last reset.
+     *
+     * @param counter counter to get
+     * @return the count since the last call to {@code reset()}
+     */
+    long getCount(Counter counter) {
+        return mCounts[counter.ordinal()];
+    }
+
+    /**
+     * Gets the number of times each GL function has been called since the last reset.
+     *
+     * @return the number of calls to each function which has been called, by name
+     */
+    Map<String, Long> getCallsByName() {
+        Map<String, Long> calls = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : mCallsByName.entrySet())
+            calls.put(entry.getKey(), entry.getValue()[0]);
+        return calls;
+    }
+
+    /**
+     * Discards every count.
+     */
+    void reset() {
+        Arrays.fill(mCounts, 0);
+        mCallsByName.clear();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        final String name = method.getName();
+        if (method.getDeclaringClass() == Object.class)
+            return invokeObjectMethod(proxy, name, args);
+
+        record(name, args);
+        switch (name) {
+            case "glGetError":
+                return GL20.GL_NO_ERROR;
+            case "glCheckFramebufferStatus":
+                return GL20.GL_FRAMEBUFFER_COMPLETE;
+            case "glGetString":
+                return getString((Integer) args[0]);
+            case "glGetIntegerv":
+                answerIntegerQuery((Integer) args[0], (IntBuffer) args[1]);
+                return null;
+            case "glGetShaderiv":
+            case "glGetProgramiv":
+                answerObjectQuery((Integer) args[1], (IntBuffer) args[2]);
+                return null;
+            case "glGetFloatv":
+                ((FloatBuffer) args[1]).put(0, 0f);
+                return null;
+            case "glGetShaderInfoLog":
+            case "glGetProgramInfoLog":
+                return "";
+            case "glGetAttribLocation":
+            case "glGetUniformLocation":
+                return ++mLastName;
+            default:
+                break;
+        }
+
+        // Every call which returns a name creates an object, and every other call returns nothing of interest
+        final Class<?> returnType = method.getReturnType();
+        if (returnType == int.class)
+            return ++mLastName;
+        else if (returnType == boolean.class)
+            return true;
+        else if (returnType == float.class)
+            return 0f;
+        else if (returnType == String.class)
+            return "";
+        else if (name.startsWith("glGen") && args.length == 2 && args[1] instanceof IntBuffer) {
+            IntBuffer names = (IntBuffer) args[1];
+            for (int i = 0; i < (Integer) args[0]; i++)
+                names.put(names.position() + i, ++mLastName);
+        }
+        return null;
+    }
+
+    /**
+     * Counts a call.
+     *
+     * @param name name of the GL function called
+     * @param args arguments of the call
+     */
+    private void record(String name, Object[] args) {
+        mCounts[Counter.Calls.ordinal()]++;
+        long[] calls = mCallsByName.get(name);
+        if (calls == null) {
+            calls = new long[1];
+            mCallsByName.put(name, calls);
+        }
+        calls[0]++;
+
+        switch (name) {
+            case "glDrawElements":
+                mCounts[Counter.DrawCalls.ordinal()]++;
+                mCounts[Counter.Vertices.ordinal()] += (Integer) args[1];
+                break;
+            case "glDrawArrays":
+                mCounts[Counter.DrawCalls.ordinal()]++;
+                mCounts[Counter.Vertices.ordinal()] += (Integer) args[2];
+                break;
+            case "glBindTexture":
+                mCounts[Counter.TextureBindings.ordinal()]++;
+                break;
+            case "glUseProgram":
+                mCounts[Counter.ShaderSwitches.ordinal()]++;
+                break;
+            case "glEnable":
+            case "glDisable":
+                if ((Integer) args[0] == GL20.GL_BLEND)
+                    mCounts[Counter.BlendToggles.ordinal()]++;
+                break;
+            case "glTexImage2D":
+            case "glTexSubImage2D":
+            case "glCompressedTexImage2D":
+            case "glCompressedTexSubImage2D":
+                mCounts[Counter.TextureUploads.ordinal()]++;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Answers a query for a string describing the context.
+     *
+     * @param parameter the string queried
+     * @return the value of the string
+     */
+    private String getString(int parameter) {
+        switch (parameter) {
+            case GL20.GL_VERSION:
+                return mVersion;
+            case GL20.GL_EXTENSIONS:
+                return mExtensions;
+            case GL20.GL_SHADING_LANGUAGE_VERSION:
+                return "OpenGL ES GLSL ES 1.00";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Answers a query for an integer limit of the context.
+     *
+     * @param parameter the limit queried
+     * @param result buffer to write the value to, at its position
+     */
+    private void answerIntegerQuery(int parameter, IntBuffer result) {
+        final int value;
+        switch (parameter) {
+            case GL20.GL_MAX_TEXTURE_SIZE:
+                value = MAXIMUM_TEXTURE_SIZE;
+                break;
+            default:
+                // No compressed formats are listed, and every other limit is unused
+                value = 0;
+                break;
+        }
+        result.put(result.position(), value);
+    }
+
+    /**
+     * Answers a query for the state of a shader or program.
+     *
+     * @param parameter the state queried
+     * @param result buffer to write the value to, at its position
+     */
+    private void answerObjectQuery(int parameter, IntBuffer result) {
+        final int value;
+        switch (parameter) {
+            case GL20.GL_COMPILE_STATUS:
+            case GL20.GL_LINK_STATUS:
+            case GL20.GL_VALIDATE_STATUS:
+                value = GL20.GL_TRUE;
+                break;
+            default:
+                // No attributes or uniforms are listed, so they are looked up by name as they are used
+                value = 0;
+                break;
+        }
+        result.put(result.position(), value);
+    }
+
+    /**
+     * Answers the methods every object has, for the proxy.
+     *
+     * @param proxy the proxy the method was called on
+     * @param name name of the method
+     * @param args arguments of the call
+     * @return the result of the method
+     */
+    private Object invokeObjectMethod(Object proxy, String name, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return TAG;
+            default:
+                throw new IllegalArgumentException("unexpected method " + name);
+        }
+    }
+
+    /**
+     * What is counted of the calls made to the context.
+     */
+    enum Counter {
+        /** Every call made to the context. */
+        Calls("GL calls", true),
+        /** Calls which draw primitives. */
+        DrawCalls("Draws", true),
+        /** Vertices drawn, counting shared vertices once for each index which refers to them. */
+        Vertices("Vertices", true),
+        /** Textures bound. */
+        TextureBindings("Binds", true),
+        /** Shader programs switched to. */
+        ShaderSwitches("Shaders", true),
+        /** Times blending was enabled or disabled. */
+        BlendToggles("Blends", true),
+        /** Texture images and sub-images uploaded, which depends on when background loading finishes. */
+        TextureUploads("Uploads", false);
+
+        /** Size of the enum. */
+        private static final int SIZE = Counter.values().length;
+
+        /** Short name of the counter, to label it with. */
+        private final String mLabel;
+        /** Indicates if the count is the same each time the same frames are drawn. */
+        private final boolean mDeterministic;
+
+        /**
+         * Creates a counter.
+         *
+         * @param label short name of the counter
+         * @param deterministic {@code true} if the count is the same each time the same frames are drawn
+         */
+        Counter(String label, boolean deterministic) {
+            mLabel = label;
+            mDeterministic = deterministic;
+        }
+
+        /**
+         * Gets a short name of the counter, to label it with.
+         *
+         * @return the label of the counter
+         */
+        String getLabel() {
+            return mLabel;
+        }
+
+        /**
+         * Checks if the count is the same each time the same frames are drawn, and so can be compared between runs.
+         *
+         * @return {@code true} if the count does not depend on timing
+         */
+        boolean isDeterministic() {
+            return mDeterministic;
+        }
+
+        /**
+         * Gets the size of the enum.
+         *
+         * @return number of {@code Counter}
+         */
+        static int getSize() {
+            return SIZE;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.assets.RegionIndex;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes the convex polygon which a trimmed region is drawn as. The polygon encloses every visible pixel of the
+ * region, grown by a pixel so the texels which filtering blends into the edges are kept, and is then simplified to at
+ * most {@code RegionIndex.MAXIMUM_HULL_VERTICES} vertices. Vertices are only removed by extending the edges on either
+ * side, so the polygon only ever grows and never cuts off a visible pixel, and it never grows past the region.
+ */
+final class RegionHull {
+
+    /** Number of pixels the visible pixels are grown by before the hull is computed. */
+    private static final int PADDING = 1;
+    /**
+     * Largest area, as a fraction of the region's area, which removing a vertex may add to a hull that already has
+     * few enough vertices. Removing a vertex saves rasterizing a triangle, which is worth a sliver of extra pixels.
+     */
+    private static final float AREA_TOLERANCE = 0.005f;
+
+    /**
+     * Computes the hull of a region of a packed page.
+     *
+     * @param page image of the page
+     * @param x left edge of the region on the page
+     * @param y top edge of the region on the page
+     * @param width width of the region
+     * @param height height of the region
+     * @return vertices of the hull in counter-clockwise order, as fractions of the width and height of the region from
+     * its bottom left corner, in the form expected by {@code RegionIndex.write()}
+     * @throws IllegalArgumentException if the region has no visible pixels
+     * @throws IllegalStateException if the hull cannot be simplified within the region
+     */
+    static float[] compute(BufferedImage page, int x, int y, int width, int height) {
+        // Corners of the leftmost and rightmost visible pixel in each row, grown by the padding, with y pointing up
+        List<double[]> corners = new ArrayList<>();
+        for (int row = 0; row < height; row++) {
+            int left = -1;
+            int right = -1;
+            for (int column = 0; column < width; column++) {
+                if ((page.getRGB(x + column, y + row) >>> 24) != 0) {
+                    if (left < 0)
+                        left = column;
+                    right = column;
+                }
+            }
+            if (left < 0)
+                continue;
+
+            final int bottom = height - row - 1 - PADDING;
+            final int top = height - row + PADDING;
+            corners.add(new double[]{left - PADDING, bottom});
+            corners.add(new double[]{left - PADDING, top});
+            corners.add(new double[]{right + 1 + PADDING, bottom});
+            corners.add(new double[]{right + 1 + PADDING, top});
+        }
+        if (corners.isEmpty())
+            throw new IllegalArgumentException("region has no visible pixels to trim to");
+
+        final List<double[]> hull = simplify(clip(convexHull(corners), width, height),
+                width * height * AREA_TOLERANCE,
+                width,
+                height);
+        if (hull.size() > RegionIndex.MAXIMUM_HULL_VERTICES)
+            throw new IllegalStateException("could not simplify hull of " + hull.size() + " vertices");
+
+        float[] vertices = new float[hull.size() * 2];
+        for (int i = 0; i < hull.size(); i++) {
+            vertices[i * 2] = (float) (hull.get(i)[0] / width);
+            vertices[i * 2 + 1] = (float) (hull.get(i)[1] / height);
+        }
+        return vertices;
+    }
+
+    /**
+     * Computes the convex hull of a set of points with a monotone chain.
+     *
+     * @param points points to enclose
+     * @return vertices of the hull in counter-clockwise order, without collinear vertices
+     */
+    private static List<double[]> convexHull(List<double[]> points) {
+        double[][] sorted = points.toArray(new double[points.size()][]);
+        Arrays.sort(sorted, new Comparator<double[]>() {
+            @Override
+            public int compare(double[] a, double[] b) {
+                return (a[0] != b[0])
+                        ? Double.compare(a[0], b[0])
+                        : Double.compare(a[1], b[1]);
+            }
+        });
+
+        double[][] hull = new double[sorted.length * 2][];
+        int size = 0;
+        for (double[] point : sorted) {
+            while (size >= 2 && cross(hull[size - 2], hull[size - 1], point) <= 0)
+                size--;
+            hull[size++] = point;
+        }
+        final int lowerSize = size + 1;
+        for (int i = sorted.length - 2; i >= 0; i--) {
+            while (size >= lowerSize && cross(hull[size - 2], hull[size - 1], sorted[i]) <= 0)
+                size--;
+            hull[size++] = sorted[i];
+        }
+
+        // The last point is the first point again
+        return new ArrayList<>(Arrays.asList(hull).subList(0, size - 1));
+    }
+
+    /**
+     * Removes vertices from a convex polygon until it has at most {@code RegionIndex.MAXIMUM_HULL_VERTICES}, and then
+     * while removing one adds at most {@code tolerance} area. A vertex is removed along with its neighbour by
+     * extending the edges before and after them until they meet, choosing the pair which adds the least area without
+     * leaving the region.
+     *
+     * @param polygon vertices of the polygon, in counter-clockwise order
+     * @param tolerance largest area which may be added by removing a vertex once the polygon has few enough
+     * @param width width of the region
+     * @param height height of the region
+     * @return vertices of the simplified polygon, in counter-clockwise order
+     */
+    private static List<double[]> simplify(List<double[]> polygon, double tolerance, int width, int height) {
+        List<double[]> vertices = new ArrayList<>(polygon);
+        while (vertices.size() > 3) {
+            final int size = vertices.size();
+            int bestEdge = -1;
+            double[] bestPoint = null;
+            double bestArea = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                final double[] before = vertices.get((i + size - 1) % size);
+                final double[] start = vertices.get(i);
+                final double[] end = vertices.get((i + 1) % size);
+                final double[] after = vertices.get((i + 2) % size);
+
+                final double[] point = intersect(before, start, end, after);
+                if (point == null || point[0] < 0 || point[0] > width || point[1] < 0 || point[1] > height)
+                    continue;
+                final double area = cross(start, point, end) / 2;
+                if (area < bestArea) {
+                    bestArea = area;
+                    bestEdge = i;
+                    bestPoint = point;
+                }
+            }
+
+            if (bestPoint == null || (size <= RegionIndex.MAXIMUM_HULL_VERTICES && bestArea > tolerance))
+                break;
+
+            // The edge from bestEdge to the next vertex is replaced by the point where its neighbours meet
+            vertices.set(bestEdge, bestPoint);
+            vertices.remove((bestEdge + 1) % size);
+        }
+        return vertices;
+    }
+
+    /**
+     * Finds where the edge from {@code before} to {@code start} meets the edge from {@code after} to {@code end} once
+     * both are extended past the edge between them.
+     *
+     * @param before start of the first edge
+     * @param start end of the first edge
+     * @param end start of the second edge
+     * @param after end of the second edge
+     * @return the point both edges meet at, or {@code null} if they do not meet beyond the edge between them
+     */
+    private static double[] intersect(double[] before, double[] start, double[] end, double[] after) {
+        final double firstX = start[0] - before[0];
+        final double firstY = start[1] - before[1];
+        final double secondX = end[0] - after[0];
+        final double secondY = end[1] - after[1];
+        final double denominator = firstX * secondY - firstY * secondX;
+        // Edges which are parallel, or which diverge, never meet in front of both
+        if (denominator >= 0)
+            return null;
+
+        final double gapX = end[0] - start[0];
+        final double gapY = end[1] - start[1];
+        final double t = (gapX * secondY - gapY * secondX) / denominator;
+        final double s = (gapX * firstY - gapY * firstX) / denominator;
+        if (t < 0 || s < 0)
+            return null;
+        return new double[]{start[0] + firstX * t, start[1] + firstY * t};
+    }
+
+    /**
+     * Clips a convex polygon to the bounds of its region.
+     *
+     * @param polygon vertices of the polygon, in counter-clockwise order
+     * @param width width of the region
+     * @param height height of the region
+     * @return vertices of the clipped polygon, in counter-clockwise order
+     */
+    private static List<double[]> clip(List<double[]> polygon, int width, int height) {
+        List<double[]> clipped = polygon;
+        clipped = clipAxis(clipped, 0, 0, 1);
+        clipped = clipAxis(clipped, 0, width, -1);
+        clipped = clipAxis(clipped, 1, 0, 1);
+        clipped = clipAxis(clipped, 1, height, -1);
+        return clipped;
+    }
+
+    /**
+     * Clips a convex polygon to one side of an axis-aligned line.
+     *
+     * @param polygon vertices of the polygon, in counter-clockwise order
+     * @param axis 0 to clip horizontally, or 1 to clip vertically
+     * @param limit position of the line along {@code axis}
+     * @param direction 1 to keep the side after the line, or -1 to keep the side before it
+     * @return vertices of the clipped polygon, in counter-clockwise order
+     */
+    private static List<double[]> clipAxis(List<double[]> polygon, int axis, double limit, int direction) {
+        List<double[]> clipped = new ArrayList<>();
+        for (int i = 0; i < polygon.size(); i++) {
+            final double[] current = polygon.get(i);
+            final double[] next = polygon.get((i + 1) % polygon.size());
+            final boolean currentInside = (current[axis] - limit) * direction >= 0;
+            final boolean nextInside = (next[axis] - limit) * direction >= 0;
+
+            if (currentInside)
+                clipped.add(current);
+            if (currentInside != nextInside) {
+                final double t = (limit - current[axis]) / (next[axis] - current[axis]);
+                double[] point = new double[]{
+                        current[0] + (next[0] - current[0]) * t,
+                        current[1] + (next[1] - current[1]) * t,
+                };
+                point[axis] = limit;
+                clipped.add(point);
+            }
+        }
+        return clipped;
+    }
+
+    /**
+     * Computes the cross product of the vectors from {@code origin} to {@code a} and from {@code origin} to {@code b}.
+     *
+     * @param origin shared start of both vectors
+     * @param a end of the first vector
+     * @param b end of the second vector
+     * @return the cross product, which is positive if {@code b} is counter-clockwise of {@code a}
+     */
+    private static double cross(double[] origin, double[] a, double[] b) {
+        return (a[0] - origin[0]) * (b[1] - origin[1]) - (a[1] - origin[1]) * (b[0] - origin[0]);
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private RegionHull() {
+        // does nothing
+    }
+}
@@ -0,0 +1,362 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.assets.RegionIndex;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.TextureManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Array;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slices the design spritesheets into the regions described by {@code texture_properties} and packs the regions of
+ * each {@code TextureManager.TextureGroup} onto as few pages of its own atlas as possible, so the game can draw a
+ * frame with few texture binds and load each group only while it is needed. Every atlas is packed once for each
+ * {@code TextureManager.Variant}, so smaller screens can load smaller textures, and every page is written in each
+ * {@code TextureManager.TextureFormat}, so devices can load the most compact one they support. Walls and balls are
+ * drawn tinted by a palette, so only a neutral copy of them is packed. Every region name is checked against the enums
+ * the game draws them for, and a {@code RegionIndex} is written alongside the atlases so the game never looks regions
+ * up by name. The index also holds the hull of each trimmed region, computed from its packed pixels, so the game can
+ * draw only the visible part of it.
+ */
+public final class SpritesheetPacker {
+
+    /** Directory containing the exported design spritesheets. */
+    private static final String SPRITESHEET_DIRECTORY = "design/spritesheets";
+    /** Directory containing the region definitions for each spritesheet. */
+    private static final String PROPERTIES_DIRECTORY = "design/texture_properties";
+    /** Directory containing the game's assets. */
+    private static final String ASSETS_DIRECTORY = "android/assets";
+    /** Directory to write the packed atlas to. */
+    private static final String OUTPUT_DIRECTORY = ASSETS_DIRECTORY + "/atlas";
+    /** Prefix of the name of every packed atlas. */
+    private static final String ATLAS_PREFIX = "swip";
+
+    /** Largest page dimension which every supported device can upload. */
+    private static final int MAXIMUM_PAGE_SIZE = 2048;
+
+    /** Property files, paired with the spritesheet their regions are sliced from. */
+    private static final String[][] PROPERTY_SOURCES = {
+            {"walls", "game_spritesheet.png"},
+            {"balls", "game_spritesheet.png"},
+            {"ball_overlays", "game_spritesheet.png"},
+            {"countdown", "menu_spritesheet.png"},
+            {"menu", "menu_spritesheet.png"},
+            {"system", "menu_spritesheet.png"},
+            {"backgrounds", "bg_spritesheet.png"},
+    };
+
+    /** Property files which list unnamed, equally sized regions that are layered into a single region. */
+    private static final String COMPOSITE_PROPERTIES = "ball_overlays";
+    /** Name given to the region created by layering the regions of a composite property file. */
+    private static final String COMPOSITE_REGION_NAME = "Composite";
+    /** Property files whose regions are drawn tinted, so only a single neutral set of them is packed. */
+    private static final String[] TINTED_PROPERTIES = {"walls", "balls"};
+    /** Color of the regions in the design spritesheet which the neutral regions are created from. */
+    private static final String NEUTRAL_SOURCE_COLOR = "Gray";
+    /** Name given to a neutral region when its name is only the source color. */
+    private static final String NEUTRAL_REGION_NAME = "Neutral";
+    /** Suffixes which follow the color and side in the names of wall regions. */
+    private static final String[] WALL_SUFFIXES = {"", "TopEdge", "BottomEdge"};
+    /**
+     * Multiplier applied to the source regions to create the neutral regions. Must match the brightness the palettes
+     * in {@code TextureManager.Palette} were fit against.
+     */
+    private static final float NEUTRAL_BRIGHTNESS = 2f;
+
+    /**
+     * Packs the spritesheets. Paths are resolved relative to the root of the project.
+     *
+     * @param args optionally, the root of the project
+     * @throws IOException if a spritesheet or property file cannot be read, or defines a region the game does not
+     * expect or is missing one it does
+     */
+    public static void main(String[] args) throws IOException {
+        final File root = new File((args.length > 0)
+                ? args[0]
+                : ".");
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = MAXIMUM_PAGE_SIZE;
+        settings.maxHeight = MAXIMUM_PAGE_SIZE;
+        settings.paddingX = 2;
+        settings.paddingY = 2;
+        settings.duplicatePadding = true;
+        settings.stripWhitespaceX = false;
+        settings.stripWhitespaceY = false;
+        settings.rotation = false;
+
+        // Sprites are drawn smaller than they were designed on most screens, so they are mip mapped
+        settings.filterMin = Texture.TextureFilter.MipMapLinearLinear;
+        settings.filterMag = Texture.TextureFilter.Linear;
+
+        final TextureManager.Variant[] variants = TextureManager.Variant.values();
+        settings.scale = new float[variants.length];
+        settings.scaleSuffix = new String[variants.length];
+        for (TextureManager.Variant variant : variants) {
+            settings.scale[variant.ordinal()] = variant.getScale();
+            settings.scaleSuffix[variant.ordinal()] = variant.getSuffix();
+        }
+
+        final Set<String> expectedNames = getExpectedRegionNames();
+        final TextureManager.TextureGroup[] groups = TextureManager.TextureGroup.values();
+        TexturePacker[] packers = new TexturePacker[groups.length];
+        for (int i = 0; i < packers.length; i++)
+            packers[i] = new TexturePacker(settings);
+        for (String[] source : PROPERTY_SOURCES) {
+            BufferedImage sheet = ImageIO.read(new File(root, SPRITESHEET_DIRECTORY + "/" + source[1]));
+            if (sheet == null)
+                throw new IOException("Could not read spritesheet " + source[1]);
+            addRegions(packers,
+                    sheet,
+                    source[0],
+                    new File(root, PROPERTIES_DIRECTORY + "/" + source[0] + ".txt"),
+                    expectedNames);
+        }
+
+        // The packer appends to an existing atlas, so the previous output is removed first
+        final File outputDirectory = new File(root, OUTPUT_DIRECTORY);
+        final File[] previousOutput = outputDirectory.listFiles();
+        if (previousOutput != null) {
+            for (File file : previousOutput) {
+                if (file.getName().startsWith(ATLAS_PREFIX) && !file.delete())
+                    throw new IOException("Could not delete " + file);
+            }
+        }
+
+        for (TextureManager.TextureGroup group : groups)
+            packers[group.ordinal()].pack(outputDirectory, group.getAtlasName());
+        for (TextureManager.Variant variant : variants) {
+            for (TextureManager.TextureGroup group : groups)
+                CompressedPageWriter.writePages(new File(root, ASSETS_DIRECTORY + "/" + group.getAtlasPath(variant)));
+            writeRegionIndex(new File(root, ASSETS_DIRECTORY),
+                    variant,
+                    new File(root, ASSETS_DIRECTORY + "/" + RegionIndex.getPath(variant)));
+        }
+    }
+
+    /**
+     * Gets the name of every region the property files may define, in the form {@code category/Name}: a region for
+     * every slot of the {@code RegionIndex}, and every colored variant of the tinted regions.
+     *
+     * @return the expected region names
+     */
+    private static Set<String> getExpectedRegionNames() {
+        Set<String> names = new HashSet<>(Arrays.asList(RegionIndex.getRegionNames()));
+        for (TextureManager.GameColor color : TextureManager.GameColor.values()) {
+            names.add("balls/" + color.name());
+            for (Wall.Side side : Wall.Side.values()) {
+                for (String suffix : WALL_SUFFIXES)
+                    names.add("walls/" + color.name() + side.name() + suffix);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Writes the {@code RegionIndex} for one variant of the packed atlases, with the hull of each trimmed region.
+     *
+     * @param assetsDirectory directory containing the game's assets, which the atlas paths are relative to
+     * @param variant resolution of the atlases
+     * @param indexFile file to write the index to
+     * @throws IOException if an atlas is missing a region the game expects, a page cannot be read, or the index
+     * cannot be written
+     */
+    private static void writeRegionIndex(File assetsDirectory, TextureManager.Variant variant, File indexFile)
+            throws IOException {
+        final TextureManager.TextureGroup[] groups = TextureManager.TextureGroup.values();
+        List<Map<String, Integer>> positions = new ArrayList<>();
+        List<Array<TextureAtlas.TextureAtlasData.Region>> groupRegions = new ArrayList<>();
+        for (TextureManager.TextureGroup group : groups) {
+            final FileHandle atlasHandle = new FileHandle(new File(assetsDirectory, group.getAtlasPath(variant)));
+            final Array<TextureAtlas.TextureAtlasData.Region> regions
+                    = new TextureAtlas.TextureAtlasData(atlasHandle, atlasHandle.parent(), false).getRegions();
+
+            Map<String, Integer> groupPositions = new HashMap<>();
+            for (int i = 0; i < regions.size; i++) {
+                if (groupPositions.put(regions.get(i).name, i) != null)
+                    throw new IOException("Region " + regions.get(i).name + " was packed more than once");
+            }
+            positions.add(groupPositions);
+            groupRegions.add(regions);
+        }
+
+        final String[] names = RegionIndex.getRegionNames();
+        int[] slots = new int[names.length];
+        float[][] hulls = new float[names.length][];
+        Map<File, BufferedImage> pages = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Integer position = positions.get(RegionIndex.getGroup(i).ordinal()).get(names[i]);
+            if (position == null) {
+                final String[] parts = names[i].split("/");
+                throw new IOException(PROPERTIES_DIRECTORY + "/" + parts[0] + ".txt is missing " + parts[1]);
+            }
+            slots[i] = position;
+
+            if (RegionIndex.isTrimmed(i)) {
+                final TextureAtlas.TextureAtlasData.Region region
+                        = groupRegions.get(RegionIndex.getGroup(i).ordinal()).get(position);
+                final File pageFile = region.page.textureFile.file();
+                BufferedImage page = pages.get(pageFile);
+                if (page == null) {
+                    page = ImageIO.read(pageFile);
+                    if (page == null)
+                        throw new IOException("Could not read page " + pageFile);
+                    pages.put(pageFile, page);
+                }
+                hulls[i] = RegionHull.compute(page, region.left, region.top, region.width, region.height);
+            }
+        }
+
+        RegionIndex.write(slots, hulls, new FileOutputStream(indexFile));
+    }
+
+    /**
+     * Slices each region listed in {@code propertiesFile} from {@code sheet} and adds it to the packer of its group.
+     * Regions are named {@code category/Name}. Unnamed regions are layered on top of each other, in order, and added
+     * as a single {@code category/Composite} region.
+     *
+     * @param packers packer for each group, indexed by {@code TextureManager.TextureGroup} ordinal
+     * @param sheet spritesheet the regions are defined on
+     * @param category name of the property file, used as the region prefix
+     * @param propertiesFile file defining the regions
+     * @param expectedNames every region name the game expects, in the form {@code category/Name}
+     * @throws IOException if the property file cannot be read, is malformed, or defines an unexpected region
+     */
+    private static void addRegions(TexturePacker[] packers,
+                                   BufferedImage sheet,
+                                   String category,
+                                   File propertiesFile,
+                                   Set<String> expectedNames)
+            throws IOException {
+        final boolean composite = COMPOSITE_PROPERTIES.equals(category);
+        final boolean tinted = Arrays.asList(TINTED_PROPERTIES).contains(category);
+        final List<String> lines = Files.readAllLines(propertiesFile.toPath(), StandardCharsets.UTF_8);
+
+        BufferedImage compositeRegion = null;
+        for (String line : lines) {
+            line = line.trim();
+            if (line.length() == 0 || line.charAt(0) == '#')
+                continue;
+
+            String[] properties = line.split("\\s+");
+            final int offset = (composite)
+                    ? 0
+                    : 1;
+            if (properties.length != offset + 4)
+                throw new IOException("Malformed line in " + propertiesFile + ": " + line);
+
+            String name = (composite)
+                    ? COMPOSITE_REGION_NAME
+                    : properties[0];
+            if (!expectedNames.contains(category + "/" + name))
+                throw new IOException("Unexpected region " + name + " in " + propertiesFile
+                        + ", names must match the values of the enum the region is drawn for");
+            if (tinted) {
+                if (!name.startsWith(NEUTRAL_SOURCE_COLOR))
+                    continue;
+                name = name.substring(NEUTRAL_SOURCE_COLOR.length());
+                if (name.length() == 0)
+                    name = NEUTRAL_REGION_NAME;
+            }
+
+            final int x = Integer.parseInt(properties[offset]);
+            final int y = Integer.parseInt(properties[offset + 1]);
+            final int width = Integer.parseInt(properties[offset + 2]);
+            final int height = Integer.parseInt(properties[offset + 3]);
+            if (x < 0 || y < 0 || x + width > sheet.getWidth() || y + height > sheet.getHeight())
+                throw new IOException("Region " + name + " in " + propertiesFile + " lies outside its spritesheet");
+
+            if (composite) {
+                if (compositeRegion == null)
+                    compositeRegion = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                else if (compositeRegion.getWidth() != width || compositeRegion.getHeight() != height)
+                    throw new IOException("Regions in " + propertiesFile + " must all be the same size");
+                compositeRegion.getGraphics().drawImage(sheet, 0, 0, width, height, x, y, x + width, y + height, null);
+                continue;
+            }
+
+            BufferedImage region = copyRegion(sheet, x, y, width, height);
+            if (tinted)
+                brighten(region, NEUTRAL_BRIGHTNESS);
+            addImage(packers, region, category + "/" + name);
+        }
+
+        if (compositeRegion != null)
+            addImage(packers, compositeRegion, category + "/" + COMPOSITE_REGION_NAME);
+    }
+
+    /**
+     * Adds a region to the packer of the group its {@code RegionIndex} slot belongs to.
+     *
+     * @param packers packer for each group, indexed by {@code TextureManager.TextureGroup} ordinal
+     * @param region image of the region
+     * @param name name of the region, in the form {@code category/Name}
+     * @throws IOException if the region does not belong in any slot
+     */
+    private static void addImage(TexturePacker[] packers, BufferedImage region, String name) throws IOException {
+        final int slot = Arrays.asList(RegionIndex.getRegionNames()).indexOf(name);
+        if (slot < 0)
+            throw new IOException("Region " + name + " does not belong in any slot of the region index");
+        packers[RegionIndex.getGroup(slot).ordinal()].addImage(region, name);
+    }
+
+    /**
+     * Copies a region of a spritesheet into a new ARGB image.
+     *
+     * @param sheet source spritesheet
+     * @param x left edge of the region
+     * @param y top edge of the region
+     * @param width width of the region
+     * @param height height of the region
+     * @return a copy of the region
+     */
+    private static BufferedImage copyRegion(BufferedImage sheet, int x, int y, int width, int height) {
+        BufferedImage region = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        region.getGraphics().drawImage(sheet, 0, 0, width, height, x, y, x + width, y + height, null);
+        return region;
+    }
+
+    /**
+     * Multiplies the color channels of every pixel in {@code image}, leaving the alpha unchanged.
+     *
+     * @param image image to modify
+     * @param multiplier amount to multiply each channel by
+     */
+    private static void brighten(BufferedImage image, float multiplier) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                final int argb = image.getRGB(x, y);
+                int brightened = argb & 0xff000000;
+                for (int shift = 0; shift < 24; shift += 8) {
+                    final int channel = Math.min(0xff, Math.round(((argb >> shift) & 0xff) * multiplier));
+                    brightened |= channel << shift;
+                }
+                image.setRGB(x, y, brightened);
+            }
+        }
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private SpritesheetPacker() {
+        // does nothing
+    }
+}